@@ -3,13 +3,18 @@ package com.udemy.accounts;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
-import com.udemy.accounts.dto.AccountsConfigInfoDto;
+import com.udemy.accounts.cache.CustomerCacheEvictEvent;
+import com.udemy.accounts.config.DownstreamProperties;
 
 @SpringBootApplication
-@EnableJpaAuditing
-@EnableConfigurationProperties(AccountsConfigInfoDto.class)
+@EnableJpaAuditing(auditorAwareRef = "aduitAwareImpl")
+@EnableCaching
+@RemoteApplicationEventScan(basePackageClasses = CustomerCacheEvictEvent.class)
+@EnableConfigurationProperties(DownstreamProperties.class)
 public class AccountsApplication {
 
 	public static void main(String[] args) {
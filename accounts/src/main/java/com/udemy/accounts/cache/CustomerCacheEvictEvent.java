@@ -0,0 +1,29 @@
+package com.udemy.accounts.cache;
+
+import java.util.List;
+
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import lombok.Getter;
+
+/**
+ * Bus event telling every accounts instance to drop the cached customers for
+ * the given mobile numbers.
+ */
+@Getter
+public class CustomerCacheEvictEvent extends RemoteApplicationEvent {
+
+    private List<String> mobileNumbers;
+
+    // required by Jackson when the event is received from the bus
+    public CustomerCacheEvictEvent() {
+        super();
+    }
+
+    public CustomerCacheEvictEvent(Object source, String originService, String destinationService,
+            List<String> mobileNumbers) {
+        super(source, originService, new PathDestinationFactory().getDestination(destinationService));
+        this.mobileNumbers = mobileNumbers;
+    }
+}
@@ -0,0 +1,77 @@
+package com.udemy.accounts.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.udemy.accounts.constants.AccountsConstant;
+
+/**
+ * Evicts entries from the customer cache on this instance and on every other
+ * accounts instance connected to the bus.
+ */
+@Component
+public class CustomerCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String busId;
+    private final String destination;
+
+    CustomerCacheInvalidator(CacheManager cacheManager, ApplicationEventPublisher eventPublisher,
+            @Value("${spring.cloud.bus.id:${spring.application.name}}") String busId,
+            @Value("${spring.application.name}") String applicationName) {
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.busId = busId;
+        this.destination = applicationName + ":**";
+    }
+
+    /**
+     * @param mobileNumbers - Mobile Numbers whose cached customers are stale
+     */
+    public void evict(String... mobileNumbers) {
+        evict(Arrays.asList(mobileNumbers));
+    }
+
+    public void evict(List<String> mobileNumbers) {
+        List<String> keys = mobileNumbers.stream().filter(Objects::nonNull).distinct().toList();
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // evicting before commit would let a concurrent fetch cache the old row again
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(keys);
+                }
+            });
+        } else {
+            publish(keys);
+        }
+    }
+
+    private void publish(List<String> keys) {
+        // delivered to the local listener below and forwarded to the bus
+        eventPublisher.publishEvent(new CustomerCacheEvictEvent(this, busId, destination, keys));
+    }
+
+    @EventListener
+    public void onCustomerCacheEvict(CustomerCacheEvictEvent event) {
+        Cache cache = cacheManager.getCache(AccountsConstant.CUSTOMER_CACHE);
+        if (cache == null || event.getMobileNumbers() == null) {
+            return;
+        }
+        event.getMobileNumbers().forEach(cache::evict);
+    }
+}
@@ -0,0 +1,90 @@
+package com.udemy.accounts.client;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * Calls one downstream service on its own bounded thread pool and behind its
+ * own circuit breaker, so a slow service can only tie up its own threads and
+ * calls to a service known to be down fail straight away.
+ */
+public class DownstreamClient implements AutoCloseable {
+
+    private final String name;
+    private final RestClient restClient;
+    private final ThreadPoolBulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration timeout;
+
+    public DownstreamClient(String name, RestClient restClient, ThreadPoolBulkhead bulkhead,
+            CircuitBreaker circuitBreaker, Duration timeout) {
+        this.name = name;
+        this.restClient = restClient;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.timeout = timeout;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param type         - Type of the response body
+     * @param path         - URI template relative to the service base URL
+     * @param uriVariables - Values for the URI template
+     * @return the body, empty when the service answers 404. Completes
+     *         exceptionally when the call is rejected, fails or runs out of time
+     */
+    public <T> CompletableFuture<Optional<T>> get(Class<T> type, String path, Object... uriVariables) {
+        return circuitBreaker.executeCompletionStage(() -> submit(() -> fetch(type, path, uriVariables)))
+                .toCompletableFuture();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return bulkhead.executeSupplier(call).toCompletableFuture()
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (BulkheadFullException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private <T> Optional<T> fetch(Class<T> type, String path, Object... uriVariables) {
+        try {
+            return Optional.ofNullable(restClient.get().uri(path, uriVariables).retrieve().body(type));
+        } catch (HttpClientErrorException.NotFound ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Only errors that say something about the health of the service count
+     * towards opening the circuit, not our own rejections or bad requests.
+     */
+    public static boolean isDownstreamFailure(Throwable ex) {
+        Throwable cause = ex;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return !(cause instanceof BulkheadFullException || cause instanceof HttpClientErrorException);
+    }
+
+    @Override
+    public void close() throws Exception {
+        bulkhead.close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.udemy.accounts.config;
+
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+import com.udemy.accounts.client.DownstreamClient;
+import com.udemy.accounts.constants.AccountsConstant;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedThreadPoolBulkheadMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class DownstreamClientConfig {
+
+    @Bean
+    CircuitBreakerRegistry downstreamCircuitBreakers(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    ThreadPoolBulkheadRegistry downstreamBulkheads(MeterRegistry meterRegistry) {
+        ThreadPoolBulkheadRegistry registry = ThreadPoolBulkheadRegistry.ofDefaults();
+        TaggedThreadPoolBulkheadMetrics.ofThreadPoolBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    DownstreamClient cardsClient(DownstreamProperties downstreamProperties, RestClient.Builder restClientBuilder,
+            CircuitBreakerRegistry downstreamCircuitBreakers, ThreadPoolBulkheadRegistry downstreamBulkheads) {
+        return client(AccountsConstant.CARDS, downstreamProperties.cards(), restClientBuilder,
+                downstreamCircuitBreakers, downstreamBulkheads);
+    }
+
+    @Bean
+    DownstreamClient loansClient(DownstreamProperties downstreamProperties, RestClient.Builder restClientBuilder,
+            CircuitBreakerRegistry downstreamCircuitBreakers, ThreadPoolBulkheadRegistry downstreamBulkheads) {
+        return client(AccountsConstant.LOANS, downstreamProperties.loans(), restClientBuilder,
+                downstreamCircuitBreakers, downstreamBulkheads);
+    }
+
+    private static DownstreamClient client(String name, DownstreamProperties.Service service,
+            RestClient.Builder restClientBuilder, CircuitBreakerRegistry circuitBreakers,
+            ThreadPoolBulkheadRegistry bulkheads) {
+        // the read timeout frees the bulkhead thread once the caller has stopped waiting
+        RestClient restClient = restClientBuilder.clone()
+                .baseUrl(service.baseUrl())
+                .requestFactory(ClientHttpRequestFactoryBuilder.jdk().build(ClientHttpRequestFactorySettings
+                        .defaults().withTimeouts(service.connectTimeout(), service.timeout())))
+                .build();
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(name, CircuitBreakerConfig.custom()
+                .failureRateThreshold(service.failureRateThreshold())
+                .slidingWindowSize(service.slidingWindowSize())
+                .minimumNumberOfCalls(service.slidingWindowSize())
+                .waitDurationInOpenState(service.waitInOpenState())
+                .recordException(DownstreamClient::isDownstreamFailure)
+                .build());
+        ThreadPoolBulkhead bulkhead = bulkheads.bulkhead(name, ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(service.maxConcurrentCalls())
+                .maxThreadPoolSize(service.maxConcurrentCalls())
+                .queueCapacity(service.queueCapacity())
+                .build());
+        return new DownstreamClient(name, restClient, bulkhead, circuitBreaker, service.timeout());
+    }
+}
@@ -0,0 +1,34 @@
+package com.udemy.accounts.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Connection, bulkhead and circuit breaker settings for the services called
+ * when assembling customer details.
+ */
+@ConfigurationProperties(prefix = "downstream")
+public record DownstreamProperties(Service cards, Service loans) {
+
+    /**
+     * @param baseUrl              - Root URL of the service
+     * @param connectTimeout       - Time allowed to open a connection
+     * @param timeout              - Time allowed for the whole call, queueing included
+     * @param maxConcurrentCalls   - Threads dedicated to calls to this service
+     * @param queueCapacity        - Calls allowed to wait for a thread before being rejected
+     * @param failureRateThreshold - Percentage of failed calls that opens the circuit
+     * @param slidingWindowSize    - Number of recent calls the failure rate is computed over
+     * @param waitInOpenState      - Time the circuit stays open before trying the service again
+     */
+    public record Service(String baseUrl,
+            @DefaultValue("250ms") Duration connectTimeout,
+            @DefaultValue("1s") Duration timeout,
+            @DefaultValue("10") int maxConcurrentCalls,
+            @DefaultValue("20") int queueCapacity,
+            @DefaultValue("50") float failureRateThreshold,
+            @DefaultValue("20") int slidingWindowSize,
+            @DefaultValue("10s") Duration waitInOpenState) {
+    }
+}
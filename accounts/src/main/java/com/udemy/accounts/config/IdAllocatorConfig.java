@@ -0,0 +1,20 @@
+package com.udemy.accounts.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.udemy.accounts.constants.AccountsConstant;
+import com.udemy.idgen.BlockIdAllocator;
+
+@Configuration
+public class IdAllocatorConfig {
+
+    @Bean
+    BlockIdAllocator accountNumberAllocator(JdbcTemplate jdbcTemplate) {
+        return new BlockIdAllocator(
+                () -> jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR account_number_block_seq", Long.class),
+                AccountsConstant.FIRST_ACCOUNT_NUMBER, AccountsConstant.LAST_ACCOUNT_NUMBER,
+                AccountsConstant.ACCOUNT_NUMBER_BLOCK_SIZE, AccountsConstant.ACCOUNT_NUMBER_BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.udemy.accounts.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.udemy.accounts.dto.AccountsConfigInfoDto;
+import com.udemy.common.refresh.RefreshableProperties;
+
+/**
+ * The "accounts" properties served by the info endpoint, bound again only when a
+ * refresh changes one of them.
+ */
+@Configuration
+public class InfoPropertiesConfig {
+
+    @Bean
+    RefreshableProperties<AccountsConfigInfoDto> accountsInfo(Environment environment) {
+        return new RefreshableProperties<>(environment, "accounts", AccountsConfigInfoDto.class);
+    }
+}
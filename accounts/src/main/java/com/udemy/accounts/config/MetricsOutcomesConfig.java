@@ -0,0 +1,21 @@
+package com.udemy.accounts.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.udemy.accounts.exception.CustomerAlreadyExistsException;
+import com.udemy.accounts.exception.ResourceNotFoundException;
+import com.udemy.common.monitoring.MetricsOutcomes;
+
+@Configuration
+public class MetricsOutcomesConfig {
+
+    @Bean
+    MetricsOutcomes metricsOutcomes() {
+        return new MetricsOutcomes(Map.of(
+                ResourceNotFoundException.class, MetricsOutcomes.NOT_FOUND,
+                CustomerAlreadyExistsException.class, MetricsOutcomes.CONFLICT));
+    }
+}
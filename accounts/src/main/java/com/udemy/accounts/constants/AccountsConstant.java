@@ -8,6 +8,15 @@ public class AccountsConstant {
 
     public static final String SAVINGS = "Savings";
     public static final String ADDRESS = "123 Main Street, New York";
+    public static final String CUSTOMER_CACHE = "customers";
+    public static final String CARDS = "cards";
+    public static final String LOANS = "loans";
+    public static final int BATCH_CHUNK_SIZE = 500;
+    public static final int BATCH_MAX_REJECTIONS = 1000;
+    public static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    public static final long LAST_ACCOUNT_NUMBER = 1_999_999_999L;
+    public static final int ACCOUNT_NUMBER_BLOCK_SIZE = 1_000;
+    public static final int ACCOUNT_NUMBER_BUFFER_SIZE = 20;
     public static final String STATUS_201 = "201";
     public static final String MESSAGE_201 = "Account created successfully";
     public static final String STATUS_200 = "200";
@@ -15,6 +24,7 @@ public class AccountsConstant {
     public static final String STATUS_417 = "417";
     public static final String MESSAGE_417_UPDATE = "Update operation failed. Please try again or contact Dev team";
     public static final String MESSAGE_417_DELETE = "Delete operation failed. Please try again or contact Dev team";
+    public static final String MESSAGE_409 = "Account was modified by another request. Please reload and try again";
     // public static final String STATUS_500 = "500";
     // public static final String MESSAGE_500 = "An error occurred. Please try again
     // or contact Dev team";
@@ -1,47 +1,70 @@
 package com.udemy.accounts.controller;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.context.config.annotation.RefreshScope;
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.udemy.accounts.constants.AccountsConstant;
 import com.udemy.accounts.dto.AccountsConfigInfoDto;
+import com.udemy.accounts.dto.BatchDeleteResponseDto;
+import com.udemy.accounts.dto.BatchResponseDto;
+import com.udemy.accounts.dto.CustomerDetailsDto;
 import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.dto.CustomerPatchDto;
 import com.udemy.accounts.dto.ResponseDto;
+import com.udemy.accounts.service.IAccountBatchService;
+import com.udemy.accounts.service.IAccountExportService;
 import com.udemy.accounts.service.IAccountService;
+import com.udemy.accounts.service.ICustomerDetailsService;
+import com.udemy.common.refresh.RefreshableProperties;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping(path = "api/", produces = MediaType.APPLICATION_JSON_VALUE)
-@RefreshScope
 public class AccountsController {
 
     private IAccountService iAccountService;
 
-    @Value("${build.version}")
-    private String buildVersion;
+    private IAccountBatchService iAccountBatchService;
+
+    private ICustomerDetailsService iCustomerDetailsService;
+
+    private IAccountExportService iAccountExportService;
+
+    private ObjectMapper objectMapper;
 
     private Environment environment;
 
-    private AccountsConfigInfoDto accountsConfigInfoDto;
+    private RefreshableProperties<AccountsConfigInfoDto> accountsConfigInfo;
 
-    AccountsController(IAccountService iAccountService, Environment environment,
-            AccountsConfigInfoDto accountsConfigInfoDto) {
+    AccountsController(IAccountService iAccountService, IAccountBatchService iAccountBatchService,
+            ICustomerDetailsService iCustomerDetailsService, IAccountExportService iAccountExportService,
+            ObjectMapper objectMapper, Environment environment,
+            RefreshableProperties<AccountsConfigInfoDto> accountsConfigInfo) {
         this.iAccountService = iAccountService;
+        this.iAccountBatchService = iAccountBatchService;
+        this.iCustomerDetailsService = iCustomerDetailsService;
+        this.iAccountExportService = iAccountExportService;
+        this.objectMapper = objectMapper;
         this.environment = environment;
-        this.accountsConfigInfoDto = accountsConfigInfoDto;
+        this.accountsConfigInfo = accountsConfigInfo;
     }
 
     @PostMapping("/create")
@@ -51,26 +74,75 @@ public class AccountsController {
                 .body(new ResponseDto(AccountsConstant.STATUS_201, AccountsConstant.MESSAGE_201));
     }
 
+    /**
+     * Accepts either a JSON array or NDJSON of customers and reads it one
+     * customer at a time, so large migrations are never buffered in memory.
+     */
+    @PostMapping(path = "/create/batch", consumes = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<BatchResponseDto> createAccounts(InputStream requestBody) throws IOException {
+        return ResponseEntity.ok(iAccountBatchService.createAccounts(
+                objectMapper.readerFor(CustomerDto.class).readValues(requestBody)));
+    }
+
     @GetMapping("/fetch/{mobileNumber}")
     public ResponseEntity<CustomerDto> fetchAccountByMobileNumber(@PathVariable String mobileNumber) {
         return ResponseEntity.ok(iAccountService.fetchAccountByMobileNumber(mobileNumber));
     }
 
+    /**
+     * Account, card and loan details in one response. Cards and loans that
+     * cannot be fetched in time are listed under degraded instead of failing
+     * the request.
+     */
+    @GetMapping("/customer-details/{mobileNumber}")
+    public ResponseEntity<CustomerDetailsDto> fetchCustomerDetails(@PathVariable String mobileNumber) {
+        return ResponseEntity.ok(iCustomerDetailsService.fetchCustomerDetails(mobileNumber));
+    }
+
     @PutMapping("/update")
     public ResponseEntity<ResponseDto> updateAccount(@RequestBody CustomerDto customerDto) {
         iAccountService.updateAccount(customerDto);
         return ResponseEntity.ok(new ResponseDto(AccountsConstant.STATUS_200, AccountsConstant.MESSAGE_200));
     }
 
+    @PatchMapping("/update")
+    public ResponseEntity<ResponseDto> patchAccount(@Valid @RequestBody CustomerPatchDto customerPatchDto) {
+        iAccountService.patchAccount(customerPatchDto);
+        return ResponseEntity.ok(new ResponseDto(AccountsConstant.STATUS_200, AccountsConstant.MESSAGE_200));
+    }
+
     @DeleteMapping("/delete/{mobileNumber}")
     public ResponseEntity<ResponseDto> deleteAccount(@PathVariable String mobileNumber) {
         iAccountService.deleteAccount(mobileNumber);
         return ResponseEntity.ok(new ResponseDto(AccountsConstant.STATUS_200, AccountsConstant.MESSAGE_200));
     }
 
+    /**
+     * Admin purge of many customers at once, accepts a JSON array or NDJSON of mobile numbers.
+     */
+    @PostMapping(path = "/admin/delete/batch", consumes = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<BatchDeleteResponseDto> deleteAccounts(InputStream requestBody) throws IOException {
+        return ResponseEntity.ok(iAccountBatchService.deleteAccounts(
+                objectMapper.readerFor(String.class).readValues(requestBody)));
+    }
+
+    /**
+     * Streams every customer with its account as NDJSON in customer id order.
+     * An interrupted export resumes with the last customerId received.
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportAccounts(@RequestParam(defaultValue = "0") long afterCustomerId, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        iAccountExportService.exportAccounts(afterCustomerId, response.getOutputStream());
+    }
+
     @GetMapping("/build-info")
     public ResponseEntity<String> buildInfo() {
-        return ResponseEntity.ok(buildVersion);
+        // read per request, so a refresh of build.version shows without a restart
+        return ResponseEntity.ok(environment.getProperty("build.version"));
     }
 
     @GetMapping("/java-version")
@@ -84,7 +156,7 @@ public class AccountsController {
 
     @GetMapping("/account-info")
     public ResponseEntity<AccountsConfigInfoDto> getAccountInfo() {
-        return ResponseEntity.ok(accountsConfigInfoDto);
+        return ResponseEntity.ok(accountsConfigInfo.get());
     }
 
 }
@@ -3,9 +3,6 @@ package com.udemy.accounts.dto;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.boot.context.properties.ConfigurationProperties;
-
-@ConfigurationProperties(prefix = "accounts")
 public record AccountsConfigInfoDto(String message, Map<String, String> contactDetails, List<String> onCallSupport) {
 
 }
@@ -8,5 +8,6 @@ public class AccountsDto {
     private Long accountNumber;
     private String accountType;
     private String branchAddress;
+    private Long version;
 
 }
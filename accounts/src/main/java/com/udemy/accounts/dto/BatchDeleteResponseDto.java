@@ -0,0 +1,11 @@
+package com.udemy.accounts.dto;
+
+import lombok.Data;
+
+@Data
+public class BatchDeleteResponseDto {
+    private long received;
+    private long deleted;
+    /** Set when the request body could not be read to the end, received counts the items before it. */
+    private String malformedInput;
+}
@@ -0,0 +1,11 @@
+package com.udemy.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data @AllArgsConstructor
+public class BatchRejectionDto {
+    private long index;
+    private String mobileNumber;
+    private String reason;
+}
@@ -0,0 +1,16 @@
+package com.udemy.accounts.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BatchResponseDto {
+
+    private long received;
+    private long created;
+    private long rejected;
+    /** Details of the first rejections only, the counters above cover the whole request. */
+    private List<BatchRejectionDto> rejections = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.udemy.accounts.dto;
+
+import lombok.Data;
+
+/**
+ * Card details as returned by the cards service.
+ */
+@Data
+public class CardsDto {
+
+    private String mobileNumber;
+    private String cardNumber;
+    private String cardType;
+    private int totalLimit;
+    private int amountUsed;
+    private int availableAmount;
+}
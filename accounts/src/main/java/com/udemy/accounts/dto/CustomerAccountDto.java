@@ -0,0 +1,10 @@
+package com.udemy.accounts.dto;
+
+/**
+ * Read-only projection of a customer joined with its account, populated
+ * directly by a JPQL constructor expression.
+ */
+public record CustomerAccountDto(String name, String email, String mobileNumber, Long version, Long accountNumber,
+        String accountType, String branchAddress, Long accountVersion) {
+
+}
@@ -0,0 +1,19 @@
+package com.udemy.accounts.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CustomerDetailsDto {
+
+    private String name;
+    private String email;
+    private String mobileNumber;
+    private AccountsDto accountsDto;
+    private CardsDto cardsDto;
+    private LoansDto loansDto;
+    /** Services that failed or did not answer in time, their details are left null. */
+    private List<String> degraded = new ArrayList<>();
+}
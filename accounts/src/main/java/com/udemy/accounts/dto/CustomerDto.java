@@ -20,5 +20,7 @@ public class CustomerDto {
     @NotNull(message = "Mobile Number cannot be null")
     @Pattern(regexp = "^\\d{10}$", message = "Mobile Number should be valid")
     private String mobileNumber;
+    // for PATCH, ignored by create and PUT
+    private Long version;
     private AccountsDto accountsDto;
 }
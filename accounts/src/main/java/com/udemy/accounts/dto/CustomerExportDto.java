@@ -0,0 +1,10 @@
+package com.udemy.accounts.dto;
+
+/**
+ * One line of the accounts export. The customerId is the keyset cursor to
+ * resume an interrupted export from.
+ */
+public record CustomerExportDto(Long customerId, String name, String email, String mobileNumber,
+        Long accountNumber, String accountType, String branchAddress) {
+
+}
@@ -0,0 +1,36 @@
+package com.udemy.accounts.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Partial update of a customer and its account. Only non-null fields are applied,
+ * and only when both versions still match the ones the client last read.
+ */
+@Data
+public class CustomerPatchDto {
+
+    @NotNull(message = "Account Number cannot be null")
+    private Long accountNumber;
+
+    @NotNull(message = "Account Version cannot be null")
+    private Long accountVersion;
+
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    @Size(min = 5, max = 50, message = "Name should be between 5 and 50 characters")
+    private String name;
+
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @Pattern(regexp = "^\\d{10}$", message = "Mobile Number should be valid")
+    private String mobileNumber;
+
+    private String accountType;
+    private String branchAddress;
+}
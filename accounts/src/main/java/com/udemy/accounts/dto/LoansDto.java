@@ -0,0 +1,17 @@
+package com.udemy.accounts.dto;
+
+import lombok.Data;
+
+/**
+ * Loan details as returned by the loans service.
+ */
+@Data
+public class LoansDto {
+
+    private String mobileNumber;
+    private String loanNumber;
+    private String loanType;
+    private int totalLoan;
+    private int amountPaid;
+    private int outstandingAmount;
+}
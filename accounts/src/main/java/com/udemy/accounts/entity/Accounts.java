@@ -1,13 +1,20 @@
 package com.udemy.accounts.entity;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@DynamicUpdate
+@Table(indexes = @Index(name = "ux_accounts_customer_id", columnList = "customer_id", unique = true))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,5 +26,7 @@ public class Accounts extends BaseEntity {
     private Long accountNumber;
     private String accountType;
     private String branchAddress;
+    @Version
+    private Long version;
 
 }
@@ -1,23 +1,34 @@
 package com.udemy.accounts.entity;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@DynamicUpdate
+@Table(indexes = @Index(name = "ux_customer_mobile_number", columnList = "mobile_number", unique = true))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Customer extends BaseEntity{
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     private Long customerId;
     private String name;
     private String email;
     private String mobileNumber;
+    @Version
+    private Long version;
 
 }
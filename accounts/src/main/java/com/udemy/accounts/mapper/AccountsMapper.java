@@ -1,6 +1,7 @@
 package com.udemy.accounts.mapper;
 
 import com.udemy.accounts.dto.AccountsDto;
+import com.udemy.accounts.dto.CustomerAccountDto;
 import com.udemy.accounts.entity.Accounts;
 
 public class AccountsMapper {
@@ -9,6 +10,15 @@ public class AccountsMapper {
         accountsDto.setAccountNumber(accounts.getAccountNumber());
         accountsDto.setAccountType(accounts.getAccountType());
         accountsDto.setBranchAddress(accounts.getBranchAddress());
+        accountsDto.setVersion(accounts.getVersion());
+        return accountsDto;
+    }
+
+    public static AccountsDto mapToAccountsDto(CustomerAccountDto customerAccountDto, AccountsDto accountsDto) {
+        accountsDto.setAccountNumber(customerAccountDto.accountNumber());
+        accountsDto.setAccountType(customerAccountDto.accountType());
+        accountsDto.setBranchAddress(customerAccountDto.branchAddress());
+        accountsDto.setVersion(customerAccountDto.accountVersion());
         return accountsDto;
     }
 
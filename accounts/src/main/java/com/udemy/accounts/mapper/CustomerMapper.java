@@ -1,5 +1,6 @@
 package com.udemy.accounts.mapper;
 
+import com.udemy.accounts.dto.CustomerAccountDto;
 import com.udemy.accounts.dto.CustomerDto;
 import com.udemy.accounts.entity.Customer;
 
@@ -9,6 +10,15 @@ public class CustomerMapper {
         customerDto.setName(customer.getName());
         customerDto.setEmail(customer.getEmail());
         customerDto.setMobileNumber(customer.getMobileNumber());
+        customerDto.setVersion(customer.getVersion());
+        return customerDto;
+    }
+
+    public static CustomerDto mapToCustomerDto(CustomerAccountDto customerAccountDto, CustomerDto customerDto) {
+        customerDto.setName(customerAccountDto.name());
+        customerDto.setEmail(customerAccountDto.email());
+        customerDto.setMobileNumber(customerAccountDto.mobileNumber());
+        customerDto.setVersion(customerAccountDto.version());
         return customerDto;
     }
 
@@ -0,0 +1,31 @@
+package com.udemy.accounts.monitoring;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import com.udemy.common.monitoring.MetricsOutcomes;
+import com.udemy.common.monitoring.ServiceMetricsAspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times the accounts service methods, see {@link ServiceMetricsAspect}.
+ */
+@Aspect
+@Component
+public class AccountsMetricsAspect extends ServiceMetricsAspect {
+
+    AccountsMetricsAspect(MeterRegistry meterRegistry, MetricsOutcomes metricsOutcomes) {
+        super(meterRegistry, metricsOutcomes);
+    }
+
+    @Override
+    @Pointcut("execution(* com.udemy.accounts.service.IAccountService+.*(..))"
+            + " || execution(* com.udemy.accounts.service.IAccountBatchService+.*(..))"
+            + " || execution(* com.udemy.accounts.service.ICustomerDetailsService+.*(..))"
+            + " || execution(* com.udemy.accounts.service.IAccountExportService+.*(..))")
+    public void serviceMethods() {
+        // only the pointcut
+    }
+}
@@ -1,6 +1,11 @@
 package com.udemy.accounts.repository;
 
+import java.util.Collection;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.udemy.accounts.entity.Accounts;
@@ -9,5 +14,7 @@ public interface AccountsRepository extends JpaRepository<Accounts, Long> {
     Accounts findByCustomerId(Long customerId);
 
     @Transactional
-    void deleteByCustomerId(Long customerId);
+    @Modifying
+    @Query("delete from Accounts a where a.customerId in :customerIds")
+    int deleteByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
 }
@@ -1,12 +1,41 @@
 package com.udemy.accounts.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.udemy.accounts.constants.AccountsConstant;
+import com.udemy.accounts.dto.CustomerAccountDto;
 import com.udemy.accounts.entity.Customer;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByMobileNumber(String mobileNumber);
+
+    // the immutable projection is cached, callers map it into fresh DTOs
+    @Cacheable(cacheNames = AccountsConstant.CUSTOMER_CACHE, key = "#mobileNumber", unless = "#result == null")
+    @Query("""
+            select new com.udemy.accounts.dto.CustomerAccountDto(c.name, c.email, c.mobileNumber, c.version,
+                a.accountNumber, a.accountType, a.branchAddress, a.version)
+            from Customer c join Accounts a on a.customerId = c.customerId
+            where c.mobileNumber = :mobileNumber""")
+    Optional<CustomerAccountDto> findCustomerAccountByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    @Query("select c.mobileNumber from Customer c where c.mobileNumber in :mobileNumbers")
+    List<String> findExistingMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    @Query("select c.customerId from Customer c where c.mobileNumber in :mobileNumbers")
+    List<Long> findCustomerIdsByMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Customer c where c.customerId in :customerIds")
+    int deleteByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
 }
@@ -0,0 +1,22 @@
+package com.udemy.accounts.service;
+
+import java.util.Iterator;
+
+import com.udemy.accounts.dto.BatchDeleteResponseDto;
+import com.udemy.accounts.dto.BatchResponseDto;
+import com.udemy.accounts.dto.CustomerDto;
+
+public interface IAccountBatchService {
+
+    /**
+     * @param customers - Customers to onboard, consumed lazily so the request is never held in memory
+     * @return how many customers were created and which ones were rejected
+     */
+    BatchResponseDto createAccounts(Iterator<CustomerDto> customers);
+
+    /**
+     * @param mobileNumbers - Mobile Numbers of the customers to delete, consumed lazily
+     * @return how many customers were deleted, unknown mobile numbers are skipped
+     */
+    BatchDeleteResponseDto deleteAccounts(Iterator<String> mobileNumbers);
+}
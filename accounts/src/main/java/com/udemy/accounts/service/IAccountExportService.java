@@ -0,0 +1,14 @@
+package com.udemy.accounts.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IAccountExportService {
+
+    /**
+     * @param afterCustomerId - Only customers with a greater id are exported, 0 for all of them
+     * @param out             - Receives one JSON object per line, in customer id order
+     * @return the number of customers exported
+     */
+    long exportAccounts(long afterCustomerId, OutputStream out) throws IOException;
+}
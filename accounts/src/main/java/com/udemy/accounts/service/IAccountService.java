@@ -1,6 +1,7 @@
 package com.udemy.accounts.service;
 
 import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.dto.CustomerPatchDto;
 
 public interface IAccountService {
 
@@ -10,5 +11,12 @@ public interface IAccountService {
 
     boolean updateAccount(CustomerDto customerDto);
 
+    /**
+     * @param customerPatchDto - Fields to change, null fields are left untouched
+     * @return true when the account was updated
+     * @throws org.springframework.dao.OptimisticLockingFailureException when either version is stale
+     */
+    boolean patchAccount(CustomerPatchDto customerPatchDto);
+
     boolean deleteAccount(String mobileNumber);
 }
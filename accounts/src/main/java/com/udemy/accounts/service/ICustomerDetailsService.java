@@ -0,0 +1,13 @@
+package com.udemy.accounts.service;
+
+import com.udemy.accounts.dto.CustomerDetailsDto;
+
+public interface ICustomerDetailsService {
+
+    /**
+     * @param mobileNumber - Mobile Number of the customer
+     * @return the account together with whatever card and loan details could
+     *         be fetched, services that could not be reached are listed as degraded
+     */
+    CustomerDetailsDto fetchCustomerDetails(String mobileNumber);
+}
@@ -0,0 +1,209 @@
+package com.udemy.accounts.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.udemy.accounts.cache.CustomerCacheInvalidator;
+import com.udemy.accounts.constants.AccountsConstant;
+import com.udemy.accounts.dto.BatchDeleteResponseDto;
+import com.udemy.accounts.dto.BatchRejectionDto;
+import com.udemy.accounts.dto.BatchResponseDto;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.entity.Customer;
+import com.udemy.accounts.mapper.CustomerMapper;
+import com.udemy.accounts.repository.AccountsRepository;
+import com.udemy.accounts.repository.CustomerRepository;
+import com.udemy.accounts.service.IAccountBatchService;
+import com.udemy.common.exception.UniqueViolations;
+import com.udemy.idgen.BlockIdAllocator;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class AccountBatchServiceImpl implements IAccountBatchService {
+
+    // database errors are logged, their text names tables and constraints
+    private static final String CANNOT_CREATE = "Could not be created";
+
+    private CustomerRepository customerRepository;
+    private AccountsRepository accountsRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Validator validator;
+    private BlockIdAllocator accountNumberAllocator;
+    private CustomerCacheInvalidator customerCacheInvalidator;
+
+    @Override
+    public BatchResponseDto createAccounts(Iterator<CustomerDto> customers) {
+        BatchResponseDto response = new BatchResponseDto();
+        List<BatchItem> chunk = new ArrayList<>(AccountsConstant.BATCH_CHUNK_SIZE);
+        long index = 0;
+        while (true) {
+            CustomerDto customerDto;
+            try {
+                if (!customers.hasNext()) {
+                    break;
+                }
+                customerDto = customers.next();
+            } catch (RuntimeException ex) {
+                // the rest of the stream cannot be parsed, keep what was already committed
+                log.warn("Batch create stopped at malformed item {}", index, ex);
+                reject(response, index, null, "Malformed input at item " + index);
+                break;
+            }
+            response.setReceived(response.getReceived() + 1);
+            chunk.add(new BatchItem(index++, customerDto));
+            if (chunk.size() == AccountsConstant.BATCH_CHUNK_SIZE) {
+                processChunk(chunk, response);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, response);
+        }
+        return response;
+    }
+
+    @Override
+    public BatchDeleteResponseDto deleteAccounts(Iterator<String> mobileNumbers) {
+        BatchDeleteResponseDto response = new BatchDeleteResponseDto();
+        List<String> chunk = new ArrayList<>(AccountsConstant.BATCH_CHUNK_SIZE);
+        while (true) {
+            String mobileNumber;
+            try {
+                if (!mobileNumbers.hasNext()) {
+                    break;
+                }
+                mobileNumber = mobileNumbers.next();
+            } catch (RuntimeException ex) {
+                // earlier chunks are committed, the counters tell the client how far it got
+                log.warn("Batch delete stopped at malformed item {}", response.getReceived(), ex);
+                response.setMalformedInput("Malformed input at item " + response.getReceived());
+                break;
+            }
+            chunk.add(mobileNumber);
+            response.setReceived(response.getReceived() + 1);
+            if (chunk.size() == AccountsConstant.BATCH_CHUNK_SIZE) {
+                response.setDeleted(response.getDeleted() + deleteChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            response.setDeleted(response.getDeleted() + deleteChunk(chunk));
+        }
+        return response;
+    }
+
+    private int deleteChunk(List<String> mobileNumbers) {
+        // one transaction and three statements per chunk, whatever the chunk size
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> customerIds = customerRepository.findCustomerIdsByMobileNumbers(mobileNumbers);
+            if (customerIds.isEmpty()) {
+                return 0;
+            }
+            accountsRepository.deleteByCustomerIdIn(customerIds);
+            int count = customerRepository.deleteByCustomerIdIn(customerIds);
+            customerCacheInvalidator.evict(List.copyOf(mobileNumbers));
+            return count;
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void processChunk(List<BatchItem> chunk, BatchResponseDto response) {
+        List<BatchItem> candidates = new ArrayList<>(chunk.size());
+        Set<String> mobileNumbers = new HashSet<>();
+        for (BatchItem item : chunk) {
+            Set<ConstraintViolation<CustomerDto>> violations = validator.validate(item.customerDto());
+            if (!violations.isEmpty()) {
+                reject(response, item, violations.iterator().next().getMessage());
+            } else if (!mobileNumbers.add(item.customerDto().getMobileNumber())) {
+                reject(response, item, "Duplicate mobile number in request");
+            } else {
+                candidates.add(item);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(customerRepository.findExistingMobileNumbers(mobileNumbers));
+        List<BatchItem> inserts = new ArrayList<>(candidates.size());
+        for (BatchItem item : candidates) {
+            if (existing.contains(item.customerDto().getMobileNumber())) {
+                reject(response, item, "Customer already exists with mobile number "
+                        + item.customerDto().getMobileNumber());
+            } else {
+                inserts.add(item);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(inserts));
+            response.setCreated(response.getCreated() + inserts.size());
+        } catch (RuntimeException ex) {
+            if (!UniqueViolations.isUniqueViolation(ex)) {
+                log.error("Batch create failed for {} customers", inserts.size(), ex);
+                inserts.forEach(item -> reject(response, item, CANNOT_CREATE));
+                return;
+            }
+            // a concurrent create won the race for one of the mobile numbers, find out which
+            inserts.forEach(item -> insertSingle(item, response));
+        }
+    }
+
+    private void insertSingle(BatchItem item, BatchResponseDto response) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(List.of(item)));
+            response.setCreated(response.getCreated() + 1);
+        } catch (RuntimeException ex) {
+            if (UniqueViolations.isUniqueViolation(ex)) {
+                reject(response, item, "Customer already exists with mobile number "
+                        + item.customerDto().getMobileNumber());
+            } else {
+                log.error("Batch create failed for item {}", item.index(), ex);
+                reject(response, item, CANNOT_CREATE);
+            }
+        }
+    }
+
+    private void insert(List<BatchItem> inserts) {
+        // ids come from the pooled customer sequence, so customers and accounts are
+        // persisted without a round trip each and written out as JDBC batches on flush
+        for (BatchItem item : inserts) {
+            Customer customer = CustomerMapper.mapToCustomer(item.customerDto(), new Customer());
+            entityManager.persist(customer);
+            entityManager.persist(AccountServiceImpl.createNewAccount(customer, accountNumberAllocator.nextId()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void reject(BatchResponseDto response, BatchItem item, String reason) {
+        reject(response, item.index(), item.customerDto().getMobileNumber(), reason);
+    }
+
+    private void reject(BatchResponseDto response, long index, String mobileNumber, String reason) {
+        response.setRejected(response.getRejected() + 1);
+        if (response.getRejections().size() < AccountsConstant.BATCH_MAX_REJECTIONS) {
+            response.getRejections().add(new BatchRejectionDto(index, mobileNumber, reason));
+        }
+    }
+
+    private record BatchItem(long index, CustomerDto customerDto) {
+    }
+}
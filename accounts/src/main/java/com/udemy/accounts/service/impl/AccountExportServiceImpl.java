@@ -0,0 +1,74 @@
+package com.udemy.accounts.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.udemy.accounts.dto.CustomerExportDto;
+import com.udemy.accounts.service.IAccountExportService;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class AccountExportServiceImpl implements IAccountExportService {
+
+    private static final String EXPORT_QUERY = """
+            select new com.udemy.accounts.dto.CustomerExportDto(c.customerId, c.name, c.email, c.mobileNumber,
+                a.accountNumber, a.accountType, a.branchAddress)
+            from Customer c join Accounts a on a.customerId = c.customerId
+            where c.customerId > :afterCustomerId
+            order by c.customerId""";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+
+    AccountExportServiceImpl(EntityManager entityManager, ObjectMapper objectMapper,
+            @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(CustomerExportDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Reads through a forward-only cursor. Rows are DTOs that never become
+     * managed, and the session is cleared once per fetch, so memory does not
+     * grow with the size of the table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAccounts(long afterCustomerId, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<CustomerExportDto> rows = entityManager.createQuery(EXPORT_QUERY, CustomerExportDto.class)
+                .setParameter("afterCustomerId", afterCustomerId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            Iterator<CustomerExportDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++exported % fetchSize == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+        return exported;
+    }
+}
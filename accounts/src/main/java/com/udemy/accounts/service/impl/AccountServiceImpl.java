@@ -1,14 +1,19 @@
 package com.udemy.accounts.service.impl;
 
-import java.util.Objects;
+import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.udemy.accounts.cache.CustomerCacheInvalidator;
 import com.udemy.accounts.constants.AccountsConstant;
 import com.udemy.accounts.dto.AccountsDto;
+import com.udemy.accounts.dto.CustomerAccountDto;
 import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.dto.CustomerPatchDto;
 import com.udemy.accounts.entity.Accounts;
 import com.udemy.accounts.entity.Customer;
 import com.udemy.accounts.exception.CustomerAlreadyExistsException;
@@ -18,6 +23,8 @@ import com.udemy.accounts.mapper.CustomerMapper;
 import com.udemy.accounts.repository.AccountsRepository;
 import com.udemy.accounts.repository.CustomerRepository;
 import com.udemy.accounts.service.IAccountService;
+import com.udemy.common.exception.UniqueViolations;
+import com.udemy.idgen.BlockIdAllocator;
 
 import lombok.AllArgsConstructor;
 
@@ -27,26 +34,35 @@ public class AccountServiceImpl implements IAccountService {
 
     private AccountsRepository accountsRepository;
     private CustomerRepository customerRepository;
+    private CustomerCacheInvalidator customerCacheInvalidator;
+    private BlockIdAllocator accountNumberAllocator;
 
     @Override
-    @SuppressWarnings("null")
+    @Transactional
     public void createAccount(CustomerDto customerDto) {
-        Optional<Customer> optionalCustomer = customerRepository.findByMobileNumber(customerDto.getMobileNumber());
-        if (optionalCustomer.isPresent()) {
-            throw new CustomerAlreadyExistsException(
-                    "Customer already exists with mobile number " + customerDto.getMobileNumber());
-        }
         Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
-        Customer savedCustomer = customerRepository.save(customer);
-        accountsRepository.save(createNewAccount(savedCustomer));
+        try {
+            // the unique index on mobile_number rejects duplicates, no lookup needed
+            Customer savedCustomer = customerRepository.saveAndFlush(customer);
+            accountsRepository.save(createNewAccount(savedCustomer, accountNumberAllocator.nextId()));
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueViolations.isUniqueViolation(ex)) {
+                throw new CustomerAlreadyExistsException(
+                        "Customer already exists with mobile number " + customerDto.getMobileNumber());
+            }
+            throw ex;
+        }
     }
 
-    private Accounts createNewAccount(Customer customer) {
+    /**
+     * @param customer      - Customer owning the account
+     * @param accountNumber - Number taken from the account number allocator
+     * @return the new account details
+     */
+    static Accounts createNewAccount(Customer customer, long accountNumber) {
         Accounts newAccount = new Accounts();
         newAccount.setCustomerId(customer.getCustomerId());
-        long randomAccNumber = 1000000000L + new Random().nextInt(900000000);
-
-        newAccount.setAccountNumber(randomAccNumber);
+        newAccount.setAccountNumber(accountNumber);
         newAccount.setAccountType(AccountsConstant.SAVINGS);
         newAccount.setBranchAddress(AccountsConstant.ADDRESS);
         return newAccount;
@@ -54,16 +70,16 @@ public class AccountServiceImpl implements IAccountService {
 
     @Override
     public CustomerDto fetchAccountByMobileNumber(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
-        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId());
-        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
-        AccountsDto accountsDto = AccountsMapper.mapToAccountsDto(accounts, new AccountsDto());
+        CustomerAccountDto customerAccount = customerRepository.findCustomerAccountByMobileNumber(mobileNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
+        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customerAccount, new CustomerDto());
+        AccountsDto accountsDto = AccountsMapper.mapToAccountsDto(customerAccount, new AccountsDto());
         customerDto.setAccountsDto(accountsDto);
         return customerDto;
     }
 
     @Override
+    @Transactional
     @SuppressWarnings("null")
     public boolean updateAccount(CustomerDto customerDto) {
         Optional<Accounts> accounts = accountsRepository.findById(customerDto.getAccountsDto().getAccountNumber());
@@ -78,20 +94,77 @@ public class AccountServiceImpl implements IAccountService {
 
         Customer customer = customerRepository.findById(account.getCustomerId()).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "customerId", account.getCustomerId().toString()));
+        String previousMobileNumber = customer.getMobileNumber();
         customer.setEmail(customerDto.getEmail());
         customer.setMobileNumber(customerDto.getMobileNumber());
         customer.setName(customerDto.getName());
         customerRepository.save(customer);
 
+        customerCacheInvalidator.evict(previousMobileNumber, customer.getMobileNumber());
+
+        return true;
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("null")
+    public boolean patchAccount(CustomerPatchDto customerPatchDto) {
+        Accounts account = accountsRepository.findById(customerPatchDto.getAccountNumber()).orElseThrow(
+                () -> new ResourceNotFoundException("Accounts", "accountNumber",
+                        customerPatchDto.getAccountNumber().toString()));
+        // @Version only covers this transaction, the client's read is checked here
+        if (!account.getVersion().equals(customerPatchDto.getAccountVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Accounts.class, account.getAccountNumber());
+        }
+        if (customerPatchDto.getAccountType() != null) {
+            account.setAccountType(customerPatchDto.getAccountType());
+        }
+        if (customerPatchDto.getBranchAddress() != null) {
+            account.setBranchAddress(customerPatchDto.getBranchAddress());
+        }
+
+        Customer customer = customerRepository.findById(account.getCustomerId()).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "customerId", account.getCustomerId().toString()));
+        if (!customer.getVersion().equals(customerPatchDto.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Customer.class, customer.getCustomerId());
+        }
+        String previousMobileNumber = customer.getMobileNumber();
+        if (customerPatchDto.getName() != null) {
+            customer.setName(customerPatchDto.getName());
+        }
+        if (customerPatchDto.getEmail() != null) {
+            customer.setEmail(customerPatchDto.getEmail());
+        }
+        if (customerPatchDto.getMobileNumber() != null) {
+            customer.setMobileNumber(customerPatchDto.getMobileNumber());
+        }
+
+        try {
+            // flush here so version and unique conflicts surface before the cache is evicted
+            customerRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueViolations.isUniqueViolation(ex)) {
+                throw new CustomerAlreadyExistsException(
+                        "Customer already exists with mobile number " + customer.getMobileNumber());
+            }
+            throw ex;
+        }
+
+        customerCacheInvalidator.evict(previousMobileNumber, customer.getMobileNumber());
         return true;
     }
 
     @Override
+    @Transactional
     public boolean deleteAccount(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
-        customerRepository.deleteById(Objects.requireNonNull(customer.getCustomerId()));
-        accountsRepository.deleteByCustomerId(Objects.requireNonNull(customer.getCustomerId()));
+        List<Long> customerIds = customerRepository.findCustomerIdsByMobileNumbers(List.of(mobileNumber));
+        if (customerIds.isEmpty()) {
+            throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+        }
+        // set based deletes, nothing is loaded into the persistence context
+        accountsRepository.deleteByCustomerIdIn(customerIds);
+        customerRepository.deleteByCustomerIdIn(customerIds);
+        customerCacheInvalidator.evict(mobileNumber);
         return true;
     }
 
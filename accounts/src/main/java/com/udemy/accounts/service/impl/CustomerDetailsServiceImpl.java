@@ -0,0 +1,63 @@
+package com.udemy.accounts.service.impl;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.stereotype.Service;
+
+import com.udemy.accounts.client.DownstreamClient;
+import com.udemy.accounts.dto.CardsDto;
+import com.udemy.accounts.dto.CustomerDetailsDto;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.dto.LoansDto;
+import com.udemy.accounts.service.IAccountService;
+import com.udemy.accounts.service.ICustomerDetailsService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class CustomerDetailsServiceImpl implements ICustomerDetailsService {
+
+    private IAccountService iAccountService;
+    private DownstreamClient cardsClient;
+    private DownstreamClient loansClient;
+
+    @Override
+    public CustomerDetailsDto fetchCustomerDetails(String mobileNumber) {
+        // the local lookup is usually a cache hit, and an unknown customer is turned away
+        // before it takes threads from the downstream bulkheads
+        CustomerDto customerDto = iAccountService.fetchAccountByMobileNumber(mobileNumber);
+        CompletableFuture<Optional<CardsDto>> cards = cardsClient.get(CardsDto.class, "/cards/{mobileNumber}",
+                mobileNumber);
+        CompletableFuture<Optional<LoansDto>> loans = loansClient.get(LoansDto.class, "/loans/{mobileNumber}",
+                mobileNumber);
+
+        CustomerDetailsDto customerDetailsDto = new CustomerDetailsDto();
+        customerDetailsDto.setName(customerDto.getName());
+        customerDetailsDto.setEmail(customerDto.getEmail());
+        customerDetailsDto.setMobileNumber(customerDto.getMobileNumber());
+        customerDetailsDto.setAccountsDto(customerDto.getAccountsDto());
+        customerDetailsDto.setCardsDto(await(cardsClient, cards, customerDetailsDto));
+        customerDetailsDto.setLoansDto(await(loansClient, loans, customerDetailsDto));
+        return customerDetailsDto;
+    }
+
+    /**
+     * @return the downstream details, or null when the customer has none or
+     *         the call failed, in which case the service is marked as degraded
+     */
+    private static <T> T await(DownstreamClient client, CompletableFuture<Optional<T>> call,
+            CustomerDetailsDto customerDetailsDto) {
+        try {
+            return call.join().orElse(null);
+        } catch (CompletionException ex) {
+            log.warn("Returning customer details without {}: {}", client.getName(), ex.getCause().toString());
+            customerDetailsDto.getDegraded().add(client.getName());
+            return null;
+        }
+    }
+}
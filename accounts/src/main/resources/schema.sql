@@ -1,8 +1,14 @@
+CREATE SEQUENCE IF NOT EXISTS `customer_seq` START WITH 1 INCREMENT BY 50;
+
+-- each value reserves a block of ACCOUNT_NUMBER_BLOCK_SIZE account numbers
+CREATE SEQUENCE IF NOT EXISTS `account_number_block_seq` START WITH 0 MINVALUE 0;
+
 CREATE TABLE IF NOT EXISTS `customer` (
   `customer_id` int AUTO_INCREMENT  PRIMARY KEY,
   `name` varchar(100) NOT NULL,
   `email` varchar(100) NOT NULL,
   `mobile_number` varchar(20) NOT NULL,
+  `version` bigint DEFAULT 0 NOT NULL,
   `created_at` date NOT NULL,
   `created_by` varchar(20) NOT NULL,
   `updated_at` date DEFAULT NULL,
@@ -14,8 +20,13 @@ CREATE TABLE IF NOT EXISTS `accounts` (
    `account_number` int AUTO_INCREMENT  PRIMARY KEY,
   `account_type` varchar(100) NOT NULL,
   `branch_address` varchar(200) NOT NULL,
+  `version` bigint DEFAULT 0 NOT NULL,
   `created_at` date NOT NULL,
    `created_by` varchar(20) NOT NULL,
    `updated_at` date DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL
-);
\ No newline at end of file
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_customer_mobile_number` ON `customer` (`mobile_number`);
+
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_accounts_customer_id` ON `accounts` (`customer_id`);
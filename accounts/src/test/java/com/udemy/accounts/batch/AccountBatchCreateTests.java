@@ -0,0 +1,96 @@
+package com.udemy.accounts.batch;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.udemy.accounts.dto.BatchRejectionDto;
+import com.udemy.accounts.dto.BatchResponseDto;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.repository.CustomerRepository;
+
+/**
+ * {@code POST /api/create/batch}, which reports every rejected item by its
+ * position in the request and creates the rest.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AccountBatchCreateTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void duplicatesAndInvalidItemsAreReportedPerItem() {
+        CustomerDto existing = new CustomerDto();
+        existing.setName("Existing Customer");
+        existing.setEmail("existing@eazybank.com");
+        existing.setMobileNumber("9600000001");
+        assertEquals(HttpStatus.CREATED, restTemplate.postForEntity("/api/create", existing, String.class)
+                .getStatusCode());
+
+        ResponseEntity<BatchResponseDto> response = create(MediaType.APPLICATION_JSON, """
+                [
+                  {"name":"Batch Customer","email":"batch@eazybank.com","mobileNumber":"9600000002"},
+                  {"name":"Batch Customer","email":"again@eazybank.com","mobileNumber":"9600000002"},
+                  {"name":"Batch Customer","email":"batch@eazybank.com","mobileNumber":"9600000001"},
+                  {"name":"Batch Customer","email":"not-an-email","mobileNumber":"9600000003"},
+                  {"name":"Batch Customer","email":"batch@eazybank.com","mobileNumber":"9600000004"}
+                ]""");
+
+        BatchResponseDto result = response.getBody();
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertEquals(5, result.getReceived()),
+                () -> assertEquals(2, result.getCreated()),
+                () -> assertEquals(3, result.getRejected()),
+                // checked within the request first, then against the database
+                () -> assertEquals(List.of(
+                        new BatchRejectionDto(1, "9600000002", "Duplicate mobile number in request"),
+                        new BatchRejectionDto(3, "9600000003", "Email should be valid"),
+                        new BatchRejectionDto(2, "9600000001", "Customer already exists with mobile number 9600000001")),
+                        result.getRejections()),
+                () -> assertEquals("batch@eazybank.com",
+                        restTemplate.getForObject("/api/fetch/9600000002", CustomerDto.class).getEmail()),
+                () -> assertEquals("existing@eazybank.com",
+                        restTemplate.getForObject("/api/fetch/9600000001", CustomerDto.class).getEmail()),
+                () -> assertEquals(List.of("9600000004"),
+                        customerRepository.findExistingMobileNumbers(List.of("9600000003", "9600000004"))));
+    }
+
+    @Test
+    void malformedTailKeepsTheItemsBeforeIt() {
+        ResponseEntity<BatchResponseDto> response = create(MediaType.APPLICATION_NDJSON, """
+                {"name":"Batch Customer","email":"batch@eazybank.com","mobileNumber":"9600000011"}
+                {"name":"Batch Customer","email":""");
+
+        BatchResponseDto result = response.getBody();
+        assertAll(
+                () -> assertEquals(1, result.getReceived()),
+                () -> assertEquals(1, result.getCreated()),
+                () -> assertEquals(1, result.getRejected()),
+                () -> assertEquals(List.of(new BatchRejectionDto(1, null, "Malformed input at item 1")),
+                        result.getRejections()),
+                () -> assertEquals(List.of("9600000011"),
+                        customerRepository.findExistingMobileNumbers(List.of("9600000011"))));
+    }
+
+    private ResponseEntity<BatchResponseDto> create(MediaType contentType, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return restTemplate.postForEntity("/api/create/batch", new HttpEntity<>(body, headers), BatchResponseDto.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.udemy.accounts.batch;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.udemy.accounts.constants.AccountsConstant;
+import com.udemy.accounts.dto.BatchDeleteResponseDto;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.repository.AccountsRepository;
+import com.udemy.accounts.repository.CustomerRepository;
+
+/**
+ * {@code POST /api/admin/delete/batch}, which deletes a chunk of customers and
+ * their accounts with one statement per table.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AccountBatchDeleteTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Test
+    void deletesCustomersAndAccountsAndSkipsUnknownNumbers() {
+        List<String> mobileNumbers = List.of("9300000001", "9300000002", "9300000003");
+        List<Long> accountNumbers = mobileNumbers.stream().map(this::create).toList();
+
+        ResponseEntity<BatchDeleteResponseDto> response = delete(MediaType.APPLICATION_JSON,
+                "[\"9300000001\", \"9300000099\", \"9300000002\", \"9300000003\"]");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertEquals(4, response.getBody().getReceived()),
+                () -> assertEquals(3, response.getBody().getDeleted()),
+                () -> assertNull(response.getBody().getMalformedInput()),
+                () -> assertEquals(List.of(), customerRepository.findExistingMobileNumbers(mobileNumbers)),
+                () -> assertEquals(List.of(), accountsRepository.findAllById(accountNumbers)),
+                // cached by the fetch in create, must be gone with the customer
+                () -> assertEquals(HttpStatus.NOT_FOUND,
+                        restTemplate.getForEntity("/api/fetch/9300000001", String.class).getStatusCode()));
+    }
+
+    @Test
+    void onlyUnknownNumbersDeleteNothing() {
+        create("9300000011");
+
+        ResponseEntity<BatchDeleteResponseDto> response = delete(MediaType.APPLICATION_NDJSON,
+                "\"9300000098\"\n\"9300000099\"\n");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertEquals(2, response.getBody().getReceived()),
+                () -> assertEquals(0, response.getBody().getDeleted()),
+                () -> assertEquals(List.of("9300000011"),
+                        customerRepository.findExistingMobileNumbers(List.of("9300000011"))));
+    }
+
+    @Test
+    void deletesAcrossChunks() {
+        int count = AccountsConstant.BATCH_CHUNK_SIZE + 1;
+        List<String> mobileNumbers = IntStream.range(0, count).mapToObj(i -> String.valueOf(9310000000L + i))
+                .toList();
+        String customers = mobileNumbers.stream()
+                .map(mobileNumber -> "{\"name\":\"Batch Delete\",\"email\":\"delete@eazybank.com\",\"mobileNumber\":\""
+                        + mobileNumber + "\"}")
+                .collect(Collectors.joining("\n"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        assertTrue(restTemplate.postForEntity("/api/create/batch", new HttpEntity<>(customers, headers), String.class)
+                .getStatusCode().is2xxSuccessful());
+
+        ResponseEntity<BatchDeleteResponseDto> response = delete(MediaType.APPLICATION_NDJSON,
+                mobileNumbers.stream().map(mobileNumber -> "\"" + mobileNumber + "\"").collect(Collectors.joining("\n")));
+
+        assertAll(
+                () -> assertEquals(count, response.getBody().getReceived()),
+                () -> assertEquals(count, response.getBody().getDeleted()),
+                () -> assertEquals(List.of(), customerRepository.findExistingMobileNumbers(mobileNumbers)));
+    }
+
+    @Test
+    void malformedInputStopsAndReportsWhatWasDeleted() {
+        int count = AccountsConstant.BATCH_CHUNK_SIZE + 1;
+        List<String> mobileNumbers = IntStream.range(0, count).mapToObj(i -> String.valueOf(9320000000L + i))
+                .toList();
+        String customers = mobileNumbers.stream()
+                .map(mobileNumber -> "{\"name\":\"Batch Delete\",\"email\":\"delete@eazybank.com\",\"mobileNumber\":\""
+                        + mobileNumber + "\"}")
+                .collect(Collectors.joining("\n"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        assertTrue(restTemplate.postForEntity("/api/create/batch", new HttpEntity<>(customers, headers), String.class)
+                .getStatusCode().is2xxSuccessful());
+
+        // the first chunk is deleted before the broken item is read, the last number never is
+        ResponseEntity<BatchDeleteResponseDto> response = delete(MediaType.APPLICATION_NDJSON,
+                mobileNumbers.subList(0, AccountsConstant.BATCH_CHUNK_SIZE).stream()
+                        .map(mobileNumber -> "\"" + mobileNumber + "\"").collect(Collectors.joining("\n"))
+                        + "\n{\"broken\n\"" + mobileNumbers.get(AccountsConstant.BATCH_CHUNK_SIZE) + "\"");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertEquals(AccountsConstant.BATCH_CHUNK_SIZE, response.getBody().getReceived()),
+                () -> assertEquals(AccountsConstant.BATCH_CHUNK_SIZE, response.getBody().getDeleted()),
+                () -> assertEquals("Malformed input at item " + AccountsConstant.BATCH_CHUNK_SIZE,
+                        response.getBody().getMalformedInput()),
+                () -> assertEquals(List.of(mobileNumbers.get(AccountsConstant.BATCH_CHUNK_SIZE)),
+                        customerRepository.findExistingMobileNumbers(mobileNumbers)));
+    }
+
+    private Long create(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Batch Delete");
+        customerDto.setEmail("delete@eazybank.com");
+        customerDto.setMobileNumber(mobileNumber);
+        assertEquals(HttpStatus.CREATED, restTemplate.postForEntity("/api/create", customerDto, String.class)
+                .getStatusCode());
+        return restTemplate.getForObject("/api/fetch/" + mobileNumber, CustomerDto.class).getAccountsDto()
+                .getAccountNumber();
+    }
+
+    private ResponseEntity<BatchDeleteResponseDto> delete(MediaType contentType, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return restTemplate.postForEntity("/api/admin/delete/batch", new HttpEntity<>(body, headers),
+                BatchDeleteResponseDto.class);
+    }
+}
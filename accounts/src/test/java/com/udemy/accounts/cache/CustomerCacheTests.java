@@ -0,0 +1,119 @@
+package com.udemy.accounts.cache;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.udemy.accounts.constants.AccountsConstant;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.service.IAccountService;
+
+/**
+ * The customer cache on the fetch path and its eviction, which must wait for
+ * the writing transaction to commit.
+ */
+@SpringBootTest
+class CustomerCacheTests {
+
+    @Autowired
+    private IAccountService accountService;
+
+    @Autowired
+    private CustomerCacheInvalidator customerCacheInvalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void fetchIsServedFromTheCache() {
+        create("9400000001");
+        accountService.fetchAccountByMobileNumber("9400000001");
+        // behind the service's back, so nothing evicts
+        jdbcTemplate.update("UPDATE customer SET name = ? WHERE mobile_number = ?", "Changed Directly", "9400000001");
+
+        assertEquals("Cache Customer", accountService.fetchAccountByMobileNumber("9400000001").getName());
+    }
+
+    @Test
+    void updateEvictsSoTheNextFetchSeesIt() {
+        CustomerDto fetched = create("9400000002");
+
+        CustomerDto update = new CustomerDto();
+        update.setName("Updated Customer");
+        update.setEmail(fetched.getEmail());
+        update.setMobileNumber(fetched.getMobileNumber());
+        update.setAccountsDto(fetched.getAccountsDto());
+        accountService.updateAccount(update);
+
+        assertEquals(update.getName(), accountService.fetchAccountByMobileNumber("9400000002").getName());
+    }
+
+    @Test
+    void changingAFetchedCustomerLeavesTheCacheAlone() {
+        CustomerDto fetched = create("9400000005");
+
+        fetched.setName("Changed By Caller");
+        fetched.getAccountsDto().setBranchAddress("Changed By Caller");
+
+        CustomerDto refetched = accountService.fetchAccountByMobileNumber("9400000005");
+        assertAll(
+                () -> assertEquals("Cache Customer", refetched.getName()),
+                () -> assertEquals(AccountsConstant.ADDRESS, refetched.getAccountsDto().getBranchAddress()));
+    }
+
+    @Test
+    void evictionWaitsForTheCommit() {
+        create("9400000003");
+        accountService.fetchAccountByMobileNumber("9400000003");
+
+        Object insideTransaction = transactionTemplate.execute(status -> {
+            customerCacheInvalidator.evict("9400000003");
+            return cached("9400000003");
+        });
+
+        assertAll(
+                () -> assertNotNull(insideTransaction),
+                () -> assertNull(cached("9400000003")));
+    }
+
+    @Test
+    void rollbackKeepsTheEntry() {
+        create("9400000004");
+        accountService.fetchAccountByMobileNumber("9400000004");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            customerCacheInvalidator.evict("9400000004");
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(cached("9400000004"));
+    }
+
+    private CustomerDto create(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Cache Customer");
+        customerDto.setEmail("cache@eazybank.com");
+        customerDto.setMobileNumber(mobileNumber);
+        accountService.createAccount(customerDto);
+        return accountService.fetchAccountByMobileNumber(mobileNumber);
+    }
+
+    private Cache.ValueWrapper cached(String mobileNumber) {
+        return cacheManager.getCache(AccountsConstant.CUSTOMER_CACHE).get(mobileNumber);
+    }
+}
@@ -0,0 +1,171 @@
+package com.udemy.accounts.details;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.udemy.accounts.dto.CustomerDetailsDto;
+import com.udemy.accounts.dto.CustomerDto;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * {@code /api/customer-details} against stub cards and loans services that
+ * can be made slow, failing or empty per test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CustomerDetailsTests {
+
+    private static final String MOBILE_NUMBER = "9100000001";
+    private static final String CARD = """
+            {"mobileNumber":"9100000001","cardNumber":"100000000042","cardType":"Credit Card",
+             "totalLimit":100000,"amountUsed":0,"availableAmount":100000}""";
+    private static final String LOAN = """
+            {"mobileNumber":"9100000001","loanNumber":"200000000042","loanType":"Home Loan",
+             "totalLoan":100000,"amountPaid":0,"outstandingAmount":100000}""";
+    private static final int SLIDING_WINDOW_SIZE = 4;
+
+    private static final StubServer cards = new StubServer();
+    private static final StubServer loans = new StubServer();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CircuitBreakerRegistry downstreamCircuitBreakers;
+
+    @DynamicPropertySource
+    static void downstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("downstream.cards.base-url", cards::baseUrl);
+        registry.add("downstream.loans.base-url", loans::baseUrl);
+        for (String service : List.of("cards", "loans")) {
+            registry.add("downstream." + service + ".timeout", () -> "300ms");
+            registry.add("downstream." + service + ".sliding-window-size", () -> SLIDING_WINDOW_SIZE);
+            registry.add("downstream." + service + ".wait-in-open-state", () -> "1m");
+        }
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        cards.close();
+        loans.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        cards.reset();
+        loans.reset();
+        downstreamCircuitBreakers.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Customer Details");
+        customerDto.setEmail("details@eazybank.com");
+        customerDto.setMobileNumber(MOBILE_NUMBER);
+        // answers 400 once the customer exists, which is fine for the later tests
+        restTemplate.postForEntity("/api/create", customerDto, String.class);
+    }
+
+    @Test
+    void detailsCombineAllServices() {
+        cards.respond(200, CARD);
+        loans.respond(200, LOAN);
+
+        CustomerDetailsDto details = fetchDetails();
+
+        assertAll(
+                () -> assertEquals("Customer Details", details.getName()),
+                () -> assertEquals(MOBILE_NUMBER, details.getMobileNumber()),
+                () -> assertEquals("Savings", details.getAccountsDto().getAccountType()),
+                () -> assertEquals("100000000042", details.getCardsDto().getCardNumber()),
+                () -> assertEquals("200000000042", details.getLoansDto().getLoanNumber()),
+                () -> assertEquals(List.of(), details.getDegraded()));
+    }
+
+    @Test
+    void customerWithoutCardIsNotDegraded() {
+        loans.respond(200, LOAN);
+
+        CustomerDetailsDto details = fetchDetails();
+
+        assertAll(
+                () -> assertNull(details.getCardsDto()),
+                () -> assertEquals("200000000042", details.getLoansDto().getLoanNumber()),
+                () -> assertEquals(List.of(), details.getDegraded()));
+    }
+
+    @Test
+    void slowServiceIsLeftOutAfterItsTimeout() {
+        cards.respondAfter(Duration.ofSeconds(3), 200, CARD);
+        loans.respond(200, LOAN);
+
+        long start = System.nanoTime();
+        CustomerDetailsDto details = fetchDetails();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertAll(
+                () -> assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0, "took " + elapsed),
+                () -> assertNull(details.getCardsDto()),
+                () -> assertEquals("200000000042", details.getLoansDto().getLoanNumber()),
+                () -> assertEquals(List.of("cards"), details.getDegraded()));
+    }
+
+    @Test
+    void failingServiceIsLeftOut() {
+        cards.respond(200, CARD);
+        loans.respond(500, "{}");
+
+        CustomerDetailsDto details = fetchDetails();
+
+        assertAll(
+                () -> assertEquals("100000000042", details.getCardsDto().getCardNumber()),
+                () -> assertNull(details.getLoansDto()),
+                () -> assertEquals(List.of("loans"), details.getDegraded()));
+    }
+
+    @Test
+    void openCircuitStopsCallingFailingService() {
+        cards.respond(200, CARD);
+        loans.respond(500, "{}");
+
+        for (int i = 0; i < SLIDING_WINDOW_SIZE * 3; i++) {
+            assertEquals(List.of("loans"), fetchDetails().getDegraded());
+        }
+
+        assertEquals(SLIDING_WINDOW_SIZE, loans.requests());
+        assertEquals(SLIDING_WINDOW_SIZE * 3, cards.requests());
+    }
+
+    @Test
+    void unknownCustomerIsNotFound() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customer-details/9199999999",
+                String.class);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode()),
+                () -> assertEquals(0, cards.requests()),
+                () -> assertEquals(0, loans.requests()));
+    }
+
+    private CustomerDetailsDto fetchDetails() {
+        ResponseEntity<CustomerDetailsDto> response = restTemplate
+                .getForEntity("/api/customer-details/" + MOBILE_NUMBER, CustomerDetailsDto.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+}
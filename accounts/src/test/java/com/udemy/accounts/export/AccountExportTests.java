@@ -0,0 +1,120 @@
+package com.udemy.accounts.export;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udemy.accounts.constants.AccountsConstant;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.dto.CustomerExportDto;
+
+/**
+ * {@code GET /api/export} of more rows than the fetch size, so the session is
+ * cleared and the output flushed while rows are still streaming.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AccountExportTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size}")
+    private int fetchSize;
+
+    // customers of other test classes share the database, the export starts after them
+    private long afterCustomerId;
+    private List<String> mobileNumbers;
+    private int customers;
+
+    @BeforeEach
+    void setUp() {
+        afterCustomerId = jdbcTemplate.queryForObject("select coalesce(max(customer_id), 0) from customer",
+                Long.class);
+        customers = 2 * fetchSize + 2;
+        long first = 9700000000L + afterCustomerId * customers;
+        mobileNumbers = IntStream.range(0, customers).mapToObj(i -> String.valueOf(first + i)).toList();
+        String body = mobileNumbers.stream()
+                .map(mobileNumber -> "{\"name\":\"Export Customer\",\"email\":\"export@eazybank.com\",\"mobileNumber\":\""
+                        + mobileNumber + "\"}")
+                .collect(Collectors.joining("\n"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        assertTrue(restTemplate.postForEntity("/api/create/batch", new HttpEntity<>(body, headers), String.class)
+                .getStatusCode().is2xxSuccessful());
+    }
+
+    @Test
+    void exportsOneCustomerWithItsAccountPerLine() throws JsonProcessingException {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/export?afterCustomerId={id}",
+                String.class, afterCustomerId);
+
+        String body = response.getBody();
+        List<CustomerExportDto> rows = parse(body);
+        CustomerDto fetched = restTemplate.getForObject("/api/fetch/" + mobileNumbers.get(0), CustomerDto.class);
+        JsonNode firstLine = objectMapper.readTree(body.lines().findFirst().orElseThrow());
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType())),
+                () -> assertTrue(body.endsWith("\n")),
+                () -> assertEquals(customers, body.lines().count()),
+                () -> assertEquals(7, firstLine.size()),
+                () -> assertEquals(mobileNumbers, rows.stream().map(CustomerExportDto::mobileNumber).toList()),
+                () -> assertEquals(new CustomerExportDto(rows.get(0).customerId(), fetched.getName(),
+                        fetched.getEmail(), fetched.getMobileNumber(), fetched.getAccountsDto().getAccountNumber(),
+                        AccountsConstant.SAVINGS, AccountsConstant.ADDRESS), rows.get(0)));
+    }
+
+    @Test
+    void resumingAfterTheLastCustomerIdSkipsAndRepeatsNothing() throws JsonProcessingException {
+        List<CustomerExportDto> full = export(afterCustomerId);
+
+        // interrupted after a line that is not on a fetch boundary
+        List<CustomerExportDto> resumed = new ArrayList<>(full.subList(0, fetchSize + 2));
+        resumed.addAll(export(resumed.get(resumed.size() - 1).customerId()));
+
+        assertAll(
+                () -> assertEquals(customers, full.size()),
+                () -> assertEquals(full, resumed),
+                () -> assertTrue(IntStream.range(1, full.size())
+                        .allMatch(i -> full.get(i - 1).customerId() < full.get(i).customerId())));
+    }
+
+    private List<CustomerExportDto> export(long after) throws JsonProcessingException {
+        return parse(restTemplate.getForObject("/api/export?afterCustomerId={id}", String.class, after));
+    }
+
+    private List<CustomerExportDto> parse(String body) throws JsonProcessingException {
+        List<CustomerExportDto> rows = new ArrayList<>();
+        for (String line : body.lines().filter(line -> !line.isEmpty()).toList()) {
+            rows.add(objectMapper.readValue(line, CustomerExportDto.class));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,64 @@
+package com.udemy.accounts.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.udemy.accounts.dto.AccountsDto;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.entity.Accounts;
+import com.udemy.accounts.entity.Customer;
+import com.udemy.accounts.mapper.AccountsMapper;
+import com.udemy.accounts.mapper.CustomerMapper;
+import com.udemy.accounts.service.IAccountService;
+
+/**
+ * The one-query projection behind the fetch path must build the same
+ * {@link CustomerDto} as loading both entities and mapping them.
+ */
+@SpringBootTest
+class CustomerAccountProjectionTests {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountsRepository accountsRepository;
+
+    @Autowired
+    private IAccountService accountService;
+
+    @Test
+    void projectionMapsLikeTheEntities() {
+        Customer customer = new Customer();
+        customer.setName("Projection Customer");
+        customer.setEmail("projection@eazybank.com");
+        customer.setMobileNumber("9500000001");
+        customer = customerRepository.saveAndFlush(customer);
+        Accounts accounts = new Accounts();
+        accounts.setCustomerId(customer.getCustomerId());
+        accounts.setAccountNumber(1_500_000_001L);
+        accounts.setAccountType("Current");
+        accounts.setBranchAddress("1 Projection Road");
+        accountsRepository.saveAndFlush(accounts);
+        // a changed row has versions other than the initial ones
+        customer.setEmail("projection2@eazybank.com");
+        customerRepository.saveAndFlush(customer);
+
+        CustomerDto fromEntities = CustomerMapper.mapToCustomerDto(
+                customerRepository.findByMobileNumber("9500000001").orElseThrow(), new CustomerDto());
+        fromEntities.setAccountsDto(AccountsMapper.mapToAccountsDto(
+                accountsRepository.findByCustomerId(customer.getCustomerId()), new AccountsDto()));
+        CustomerDto fromProjection = accountService.fetchAccountByMobileNumber("9500000001");
+
+        assertEquals(fromEntities, fromProjection);
+    }
+
+    @Test
+    void unknownMobileNumberIsEmpty() {
+        assertTrue(customerRepository.findCustomerAccountByMobileNumber("9500000099").isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+package com.udemy.accounts.update;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.dto.CustomerPatchDto;
+
+/**
+ * {@code PATCH /api/update} with the versions of the client's last read.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AccountPatchTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void patchAppliesOnlyTheGivenFields() {
+        CustomerDto before = create("9200000001");
+
+        CustomerPatchDto patch = patchOf(before);
+        patch.setName("Patched Customer");
+        patch.setBranchAddress("1 Patch Street");
+        ResponseEntity<String> response = patch(patch);
+        CustomerDto after = fetch("9200000001");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertEquals("Patched Customer", after.getName()),
+                () -> assertEquals(before.getEmail(), after.getEmail()),
+                () -> assertEquals(before.getAccountsDto().getAccountType(), after.getAccountsDto().getAccountType()),
+                () -> assertEquals("1 Patch Street", after.getAccountsDto().getBranchAddress()),
+                () -> assertEquals(before.getVersion() + 1, after.getVersion()),
+                () -> assertEquals(before.getAccountsDto().getVersion() + 1, after.getAccountsDto().getVersion()));
+    }
+
+    @Test
+    void patchFromAStaleCustomerReadIsConflict() {
+        CustomerDto read = create("9200000002");
+        CustomerPatchDto first = patchOf(read);
+        first.setName("First Writer");
+        assertEquals(HttpStatus.OK, patch(first).getStatusCode());
+
+        // same read, so the customer version is one behind
+        CustomerPatchDto second = patchOf(read);
+        second.setEmail("second@eazybank.com");
+        ResponseEntity<String> response = patch(second);
+        CustomerDto after = fetch("9200000002");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, response.getStatusCode()),
+                () -> assertEquals("First Writer", after.getName()),
+                () -> assertEquals(read.getEmail(), after.getEmail()));
+    }
+
+    @Test
+    void patchFromAStaleAccountReadIsConflict() {
+        CustomerDto read = create("9200000003");
+        CustomerPatchDto first = patchOf(read);
+        first.setAccountType("Current");
+        assertEquals(HttpStatus.OK, patch(first).getStatusCode());
+
+        // only the account changed, the customer version still matches
+        CustomerPatchDto second = patchOf(read);
+        second.setName("Second Writer");
+        ResponseEntity<String> response = patch(second);
+        CustomerDto after = fetch("9200000003");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, response.getStatusCode()),
+                () -> assertEquals(read.getName(), after.getName()),
+                () -> assertEquals("Current", after.getAccountsDto().getAccountType()));
+    }
+
+    private CustomerDto create(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Patch Customer");
+        customerDto.setEmail("patch@eazybank.com");
+        customerDto.setMobileNumber(mobileNumber);
+        assertEquals(HttpStatus.CREATED, restTemplate.postForEntity("/api/create", customerDto, String.class)
+                .getStatusCode());
+        return fetch(mobileNumber);
+    }
+
+    private CustomerDto fetch(String mobileNumber) {
+        ResponseEntity<CustomerDto> response = restTemplate.getForEntity("/api/fetch/" + mobileNumber,
+                CustomerDto.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private ResponseEntity<String> patch(CustomerPatchDto patch) {
+        return restTemplate.exchange("/api/update", HttpMethod.PATCH, new HttpEntity<>(patch), String.class);
+    }
+
+    private static CustomerPatchDto patchOf(CustomerDto read) {
+        CustomerPatchDto patch = new CustomerPatchDto();
+        patch.setAccountNumber(read.getAccountsDto().getAccountNumber());
+        patch.setAccountVersion(read.getAccountsDto().getVersion());
+        patch.setVersion(read.getVersion());
+        return patch;
+    }
+}
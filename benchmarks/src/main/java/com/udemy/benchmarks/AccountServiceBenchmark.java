@@ -0,0 +1,123 @@
+package com.udemy.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.udemy.accounts.AccountsApplication;
+import com.udemy.accounts.dto.AccountsDto;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.entity.Accounts;
+import com.udemy.accounts.entity.Customer;
+import com.udemy.accounts.mapper.AccountsMapper;
+import com.udemy.accounts.mapper.CustomerMapper;
+import com.udemy.accounts.repository.AccountsRepository;
+import com.udemy.accounts.repository.CustomerRepository;
+import com.udemy.accounts.service.IAccountBatchService;
+import com.udemy.accounts.service.IAccountService;
+
+/**
+ * Accounts service methods against in-memory H2, with the customer cache
+ * switched off. Without the unique indexes on customer.mobile_number and
+ * accounts.customer_id every lookup scans the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private static final long FIRST_MOBILE_NUMBER = 6_000_000_000L;
+
+    @Param({"10000", "1000000"})
+    private int seededCustomers;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private CustomerRepository customerRepository;
+    private AccountsRepository accountsRepository;
+    private AtomicLong nextMobileNumber;
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.start(AccountsApplication.class, "accounts");
+        accountService = context.getBean(IAccountService.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        accountsRepository = context.getBean(AccountsRepository.class);
+        // the batch onboarding path, one customer at a time takes minutes for a million
+        context.getBean(IAccountBatchService.class).createAccounts(IntStream.range(0, seededCustomers)
+                .mapToObj(i -> customerDto(Long.toString(FIRST_MOBILE_NUMBER + i)))
+                .iterator());
+        if (!indexed) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.execute("DROP INDEX ux_customer_mobile_number");
+            jdbcTemplate.execute("DROP INDEX ux_accounts_customer_id");
+        }
+        nextMobileNumber = new AtomicLong(FIRST_MOBILE_NUMBER + seededCustomers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDto fetchAccount() {
+        return accountService.fetchAccountByMobileNumber(randomSeededMobileNumber());
+    }
+
+    /** The fetch before the projection query: customer and account entities loaded one after the other. */
+    @Benchmark
+    public CustomerDto fetchAccountTwoLookups() {
+        Customer customer = customerRepository.findByMobileNumber(randomSeededMobileNumber()).orElseThrow();
+        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId());
+        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        return customerDto;
+    }
+
+    /** Lookup of the customer alone, on the unique mobile_number index when there is one. */
+    @Benchmark
+    public Optional<Customer> findCustomerByMobileNumber() {
+        return customerRepository.findByMobileNumber(randomSeededMobileNumber());
+    }
+
+    @Benchmark
+    public void createAccount() {
+        accountService.createAccount(customerDto(Long.toString(nextMobileNumber.getAndIncrement())));
+    }
+
+    private String randomSeededMobileNumber() {
+        return Long.toString(FIRST_MOBILE_NUMBER + ThreadLocalRandom.current().nextInt(seededCustomers));
+    }
+
+    private static CustomerDto customerDto(String mobileNumber) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName("Benchmark Customer");
+        customerDto.setEmail("benchmark@eazybank.com");
+        customerDto.setMobileNumber(mobileNumber);
+        return customerDto;
+    }
+}
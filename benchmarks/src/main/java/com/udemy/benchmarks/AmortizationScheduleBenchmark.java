@@ -0,0 +1,64 @@
+package com.udemy.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.udemy.loans.constants.LoansConstants;
+import com.udemy.loans.dto.LoanScheduleDto;
+import com.udemy.loans.entity.Loans;
+import com.udemy.loans.mapper.LoanScheduleMapper;
+import com.udemy.loans.schedule.AmortizationSchedule;
+
+/**
+ * 30-year monthly schedules: computing one from scratch against serving a
+ * page of an already memoized one. Run with {@code -prof gc} for allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmortizationScheduleBenchmark {
+
+    @Param({ "12", "360" })
+    private int pageSize;
+
+    private Loans loan;
+    private AmortizationSchedule schedule;
+
+    @Setup
+    public void setUp() {
+        loan = new Loans();
+        loan.setLoanNumber("100000000001");
+        loan.setTotalLoan(LoansConstants.NEW_LOAN_LIMIT);
+        schedule = compute();
+    }
+
+    @Benchmark
+    public AmortizationSchedule compute() {
+        return AmortizationSchedule.compute(loan.getTotalLoan() * 100L, LoansConstants.HOME_LOAN_ANNUAL_RATE_BPS,
+                LoansConstants.HOME_LOAN_TENURE_MONTHS);
+    }
+
+    @Benchmark
+    public LoanScheduleDto memoizedPage() {
+        return LoanScheduleMapper.mapToLoanScheduleDto(loan, schedule, 0, pageSize);
+    }
+
+    @Benchmark
+    public LoanScheduleDto computedPage() {
+        return LoanScheduleMapper.mapToLoanScheduleDto(loan, compute(), 0, pageSize);
+    }
+}
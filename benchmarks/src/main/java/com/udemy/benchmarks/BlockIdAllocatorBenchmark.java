@@ -0,0 +1,60 @@
+package com.udemy.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.udemy.idgen.BlockIdAllocator;
+
+/**
+ * Allocations per second with 16 threads sharing one allocator. The block
+ * source sleeps to stand in for the database round trip of a sequence call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class BlockIdAllocatorBenchmark {
+
+    private BlockIdAllocator allocator;
+    private AtomicLong sharedCounter;
+
+    @Setup
+    public void setUp() {
+        AtomicLong sequence = new AtomicLong();
+        allocator = new BlockIdAllocator(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(1);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return sequence.getAndIncrement();
+        }, 0L, Long.MAX_VALUE / 2, 10_000, 100);
+        sharedCounter = new AtomicLong();
+    }
+
+    @Benchmark
+    public long blockAllocator() {
+        return allocator.nextId();
+    }
+
+    /** Lower bound for comparison: a single shared counter with no database at all. */
+    @Benchmark
+    public long sharedAtomicCounter() {
+        return sharedCounter.incrementAndGet();
+    }
+}
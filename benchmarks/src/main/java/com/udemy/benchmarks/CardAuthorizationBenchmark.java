@@ -0,0 +1,72 @@
+package com.udemy.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.udemy.cards.CardsApplication;
+import com.udemy.cards.constans.CardsConstants;
+import com.udemy.cards.dto.CardsDto;
+import com.udemy.cards.service.ICardsService;
+
+/**
+ * Many threads charging and crediting one hot card, the conditional update
+ * path against the read-modify-write of {@code updateCard}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CardAuthorizationBenchmark {
+
+    private static final String HOT_MOBILE_NUMBER = "6100000000";
+
+    private ConfigurableApplicationContext context;
+    private ICardsService cardsService;
+    private String cardNumber;
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.start(CardsApplication.class, "cards");
+        cardsService = context.getBean(ICardsService.class);
+        cardNumber = cardsService.createCard(HOT_MOBILE_NUMBER).getCardNumber();
+        // start half used so that concurrent settlements never find nothing to give back
+        cardsService.authorize(cardNumber, CardsConstants.NEW_CARD_LIMIT / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean authorizeAndSettle() {
+        return cardsService.authorize(cardNumber, 1) && cardsService.settle(cardNumber, 1);
+    }
+
+    @Benchmark
+    public boolean readModifyWrite() {
+        CardsDto cardsDto = cardsService.getCardDetails(HOT_MOBILE_NUMBER);
+        cardsDto.setAmountUsed(cardsDto.getAmountUsed() + 1);
+        cardsDto.setAvailableAmount(cardsDto.getAvailableAmount() - 1);
+        cardsService.updateCard(cardsDto);
+        cardsDto.setAmountUsed(cardsDto.getAmountUsed() - 1);
+        cardsDto.setAvailableAmount(cardsDto.getAvailableAmount() + 1);
+        return cardsService.updateCard(cardsDto);
+    }
+}
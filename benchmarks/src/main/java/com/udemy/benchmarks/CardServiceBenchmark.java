@@ -0,0 +1,77 @@
+package com.udemy.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.udemy.cards.CardsApplication;
+import com.udemy.cards.dto.CardsDto;
+import com.udemy.cards.service.ICardsService;
+
+/**
+ * Cards service methods against in-memory H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardServiceBenchmark {
+
+    private static final int SEEDED_CARDS = 10_000;
+    private static final long FIRST_MOBILE_NUMBER = 6_000_000_000L;
+
+    private ConfigurableApplicationContext context;
+    private ICardsService cardsService;
+    private final AtomicLong nextMobileNumber = new AtomicLong(FIRST_MOBILE_NUMBER + SEEDED_CARDS);
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.start(CardsApplication.class, "cards");
+        cardsService = context.getBean(ICardsService.class);
+        for (int i = 0; i < SEEDED_CARDS; i++) {
+            cardsService.createCard(Long.toString(FIRST_MOBILE_NUMBER + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CardsDto getCardDetails() {
+        return cardsService.getCardDetails(randomSeededMobileNumber());
+    }
+
+    @Benchmark
+    public CardsDto createCard() {
+        return cardsService.createCard(Long.toString(nextMobileNumber.getAndIncrement()));
+    }
+
+    @Benchmark
+    public boolean updateCard() {
+        CardsDto cardsDto = cardsService.getCardDetails(randomSeededMobileNumber());
+        cardsDto.setAmountUsed(cardsDto.getAmountUsed() + 1);
+        cardsDto.setAvailableAmount(cardsDto.getAvailableAmount() - 1);
+        return cardsService.updateCard(cardsDto);
+    }
+
+    private static String randomSeededMobileNumber() {
+        return Long.toString(FIRST_MOBILE_NUMBER + ThreadLocalRandom.current().nextInt(SEEDED_CARDS));
+    }
+}
@@ -0,0 +1,117 @@
+package com.udemy.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.udemy.accounts.controller.AccountsController;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.exception.CustomerAlreadyExistsException;
+import com.udemy.accounts.exception.ResourceNotFoundException;
+import com.udemy.cards.exception.CardAlreadyExistsException;
+import com.udemy.loans.exception.ResourseNotFoundException;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Error paths of the GlobalExceptionHandlers, including creating the
+ * exception itself since every failed request pays for its stack trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private final com.udemy.accounts.exception.GlobalExceptionHandler accountsHandler =
+            new com.udemy.accounts.exception.GlobalExceptionHandler();
+    private final com.udemy.cards.exception.GlobalExceptionHandler cardsHandler =
+            new com.udemy.cards.exception.GlobalExceptionHandler();
+    private final com.udemy.loans.exception.GlobalExceptionHandler loansHandler =
+            new com.udemy.loans.exception.GlobalExceptionHandler();
+
+    private WebRequest webRequest;
+    private ValidatorFactory validatorFactory;
+    private SpringValidatorAdapter validator;
+    private MethodParameter createAccountBody;
+    private CustomerDto invalidCustomerDto;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/fetch/9876543210"));
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = new SpringValidatorAdapter(validatorFactory.getValidator());
+        createAccountBody = new MethodParameter(
+                AccountsController.class.getMethod("createAccount", CustomerDto.class), 0);
+        invalidCustomerDto = new CustomerDto();
+        invalidCustomerDto.setName("Ben");
+        invalidCustomerDto.setEmail("not-an-email");
+        invalidCustomerDto.setMobileNumber("12345");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> accountsNotFound() {
+        return accountsHandler.handleGlobalException(
+                new ResourceNotFoundException("Customer", "mobileNumber", "9876543210"), webRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> accountsAlreadyExists() {
+        return accountsHandler.handleCustomerAlreadyExistsException(
+                new CustomerAlreadyExistsException("Customer already exists with mobile number 9876543210"),
+                webRequest);
+    }
+
+    /** Bean validation of a bad create request through to the field error map. */
+    @Benchmark
+    public ResponseEntity<?> accountsValidationFailure() throws Exception {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalidCustomerDto, "customerDto");
+        validator.validate(invalidCustomerDto, bindingResult);
+        return accountsHandler.handleException(new MethodArgumentNotValidException(createAccountBody, bindingResult),
+                webRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> cardsNotFound() {
+        return cardsHandler.handleResourceNotFoundException(
+                new com.udemy.cards.exception.ResourceNotFoundException("Card", "mobileNumber", "9876543210"),
+                webRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> cardsAlreadyExists() {
+        return cardsHandler.handleCardAlreadyExistsException(new CardAlreadyExistsException("9876543210"), webRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> loansNotFound() {
+        return loansHandler.handleResourseNotFoundExcrption(
+                new ResourseNotFoundException("Loan ", "mobileNumber", "9876543210"), webRequest);
+    }
+}
@@ -0,0 +1,115 @@
+package com.udemy.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.udemy.accounts.dto.AccountsDto;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.cards.dto.CardsDto;
+import com.udemy.loans.dto.LoanDto;
+
+/**
+ * Request and response bodies through the same ObjectMapper defaults Spring
+ * Boot configures for the services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectWriter customerWriter;
+    private ObjectReader customerReader;
+    private ObjectWriter cardsWriter;
+    private ObjectReader cardsReader;
+    private ObjectWriter loanWriter;
+    private ObjectReader loanReader;
+
+    private CustomerDto customerDto;
+    private CardsDto cardsDto;
+    private LoanDto loanDto;
+    private byte[] customerJson;
+    private byte[] cardsJson;
+    private byte[] loanJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        customerWriter = objectMapper.writerFor(CustomerDto.class);
+        customerReader = objectMapper.readerFor(CustomerDto.class);
+        cardsWriter = objectMapper.writerFor(CardsDto.class);
+        cardsReader = objectMapper.readerFor(CardsDto.class);
+        loanWriter = objectMapper.writerFor(LoanDto.class);
+        loanReader = objectMapper.readerFor(LoanDto.class);
+
+        AccountsDto accountsDto = new AccountsDto();
+        accountsDto.setAccountNumber(1_000_000_001L);
+        accountsDto.setAccountType("Savings");
+        accountsDto.setBranchAddress("123 Main Street, New York");
+        customerDto = new CustomerDto();
+        customerDto.setName("Benchmark Customer");
+        customerDto.setEmail("benchmark@eazybank.com");
+        customerDto.setMobileNumber("9876543210");
+        customerDto.setAccountsDto(accountsDto);
+
+        cardsDto = new CardsDto("9876543210", "4000000000000002", "Credit Card", 100_000, 2_500, 97_500);
+
+        loanDto = new LoanDto();
+        loanDto.setMobileNumber("9876543210");
+        loanDto.setLoanNumber("100000000001");
+        loanDto.setLoanType("Home Loan");
+        loanDto.setTotalLoan(100_000);
+        loanDto.setAmountPaid(2_500);
+        loanDto.setOutstandingAmount(97_500);
+
+        customerJson = customerWriter.writeValueAsBytes(customerDto);
+        cardsJson = cardsWriter.writeValueAsBytes(cardsDto);
+        loanJson = loanWriter.writeValueAsBytes(loanDto);
+    }
+
+    @Benchmark
+    public byte[] writeCustomerDto() throws IOException {
+        return customerWriter.writeValueAsBytes(customerDto);
+    }
+
+    @Benchmark
+    public CustomerDto readCustomerDto() throws IOException {
+        return customerReader.readValue(customerJson);
+    }
+
+    @Benchmark
+    public byte[] writeCardsDto() throws IOException {
+        return cardsWriter.writeValueAsBytes(cardsDto);
+    }
+
+    @Benchmark
+    public CardsDto readCardsDto() throws IOException {
+        return cardsReader.readValue(cardsJson);
+    }
+
+    @Benchmark
+    public byte[] writeLoanDto() throws IOException {
+        return loanWriter.writeValueAsBytes(loanDto);
+    }
+
+    @Benchmark
+    public LoanDto readLoanDto() throws IOException {
+        return loanReader.readValue(loanJson);
+    }
+}
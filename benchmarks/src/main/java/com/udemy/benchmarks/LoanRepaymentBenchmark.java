@@ -0,0 +1,81 @@
+package com.udemy.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.udemy.loans.LoansApplication;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.RepaymentDto;
+import com.udemy.loans.service.ILoanService;
+
+/**
+ * Many threads repaying one hot loan, the idempotent conditional update path
+ * against the read-modify-write of {@code updateLoanDetails}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoanRepaymentBenchmark {
+
+    private static final String HOT_MOBILE_NUMBER = "6200000000";
+
+    private ConfigurableApplicationContext context;
+    private ILoanService loanService;
+    private String loanNumber;
+    private final AtomicLong nextReference = new AtomicLong();
+    private final RepaymentDto repeatedRepayment = new RepaymentDto("repeated", 1);
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.start(LoansApplication.class, "loans");
+        loanService = context.getBean(ILoanService.class);
+        LoanDto loanDto = loanService.createLoanDetails(HOT_MOBILE_NUMBER);
+        loanNumber = loanDto.getLoanNumber();
+        // large enough that repayments of 1 never run out during the run
+        loanDto.setTotalLoan(Integer.MAX_VALUE);
+        loanDto.setOutstandingAmount(Integer.MAX_VALUE);
+        loanService.updateLoanDetails(loanDto);
+        loanService.repayLoan(loanNumber, repeatedRepayment);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean repay() {
+        return loanService.repayLoan(loanNumber, new RepaymentDto("payment-" + nextReference.incrementAndGet(), 1));
+    }
+
+    @Benchmark
+    public boolean repeatedReference() {
+        return loanService.repayLoan(loanNumber, repeatedRepayment);
+    }
+
+    @Benchmark
+    public boolean readModifyWrite() {
+        LoanDto loanDto = loanService.getLoanDetails(HOT_MOBILE_NUMBER);
+        loanDto.setAmountPaid(loanDto.getAmountPaid() + 1);
+        loanDto.setOutstandingAmount(loanDto.getOutstandingAmount() - 1);
+        return loanService.updateLoanDetails(loanDto);
+    }
+}
@@ -0,0 +1,77 @@
+package com.udemy.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.udemy.loans.LoansApplication;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.service.ILoanService;
+
+/**
+ * Loans service methods against in-memory H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanServiceBenchmark {
+
+    private static final int SEEDED_LOANS = 10_000;
+    private static final long FIRST_MOBILE_NUMBER = 6_000_000_000L;
+
+    private ConfigurableApplicationContext context;
+    private ILoanService loanService;
+    private final AtomicLong nextMobileNumber = new AtomicLong(FIRST_MOBILE_NUMBER + SEEDED_LOANS);
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.start(LoansApplication.class, "loans");
+        loanService = context.getBean(ILoanService.class);
+        for (int i = 0; i < SEEDED_LOANS; i++) {
+            loanService.createLoanDetails(Long.toString(FIRST_MOBILE_NUMBER + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoanDto getLoanDetails() {
+        return loanService.getLoanDetails(randomSeededMobileNumber());
+    }
+
+    @Benchmark
+    public LoanDto createLoanDetails() {
+        return loanService.createLoanDetails(Long.toString(nextMobileNumber.getAndIncrement()));
+    }
+
+    @Benchmark
+    public boolean updateLoanDetails() {
+        LoanDto loanDto = loanService.getLoanDetails(randomSeededMobileNumber());
+        loanDto.setAmountPaid(loanDto.getAmountPaid() + 1);
+        loanDto.setOutstandingAmount(loanDto.getOutstandingAmount() - 1);
+        return loanService.updateLoanDetails(loanDto);
+    }
+
+    private static String randomSeededMobileNumber() {
+        return Long.toString(FIRST_MOBILE_NUMBER + ThreadLocalRandom.current().nextInt(SEEDED_LOANS));
+    }
+}
@@ -0,0 +1,139 @@
+package com.udemy.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.udemy.accounts.dto.AccountsDto;
+import com.udemy.accounts.dto.CustomerAccountDto;
+import com.udemy.accounts.dto.CustomerDto;
+import com.udemy.accounts.entity.Accounts;
+import com.udemy.accounts.entity.Customer;
+import com.udemy.accounts.mapper.AccountsMapper;
+import com.udemy.accounts.mapper.CustomerMapper;
+import com.udemy.cards.dto.CardsDto;
+import com.udemy.cards.entity.Cards;
+import com.udemy.cards.mapper.CardsMapper;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.entity.Loans;
+import com.udemy.loans.mapper.LoanMapper;
+
+/**
+ * Entity/DTO mapping in both directions, as done on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Customer customer;
+    private Accounts accounts;
+    private CustomerAccountDto customerAccountDto;
+    private CustomerDto customerDto;
+    private Cards cards;
+    private CardsDto cardsDto;
+    private Loans loans;
+    private LoanDto loanDto;
+
+    @Setup
+    public void setUp() {
+        customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setName("Benchmark Customer");
+        customer.setEmail("benchmark@eazybank.com");
+        customer.setMobileNumber("9876543210");
+        customer.setVersion(0L);
+
+        accounts = new Accounts();
+        accounts.setCustomerId(1L);
+        accounts.setAccountNumber(1_000_000_001L);
+        accounts.setAccountType("Savings");
+        accounts.setBranchAddress("123 Main Street, New York");
+        accounts.setVersion(0L);
+
+        customerAccountDto = new CustomerAccountDto(customer.getName(), customer.getEmail(),
+                customer.getMobileNumber(), customer.getVersion(), accounts.getAccountNumber(),
+                accounts.getAccountType(), accounts.getBranchAddress(), accounts.getVersion());
+        customerDto = fetchResponse();
+
+        cards = new Cards();
+        cards.setMobileNumber("9876543210");
+        cards.setCardNumber("4000000000000002");
+        cards.setCardType("Credit Card");
+        cards.setTotalLimit(100_000);
+        cards.setAmountUsed(2_500);
+        cards.setAvailableAmount(97_500);
+        cardsDto = CardsMapper.mapToCardsDto(cards);
+
+        loans = new Loans();
+        loans.setMobileNumber("9876543210");
+        loans.setLoanNumber("100000000001");
+        loans.setLoanType("Home Loan");
+        loans.setTotalLoan(100_000);
+        loans.setAmountPaid(2_500);
+        loans.setOutstandingAmount(97_500);
+        loanDto = LoanMapper.mapToLoanDto(loans, new LoanDto());
+    }
+
+    /** What fetchAccountByMobileNumber built from the two entities. */
+    @Benchmark
+    public CustomerDto customerAndAccountsToDto() {
+        return fetchResponse();
+    }
+
+    /** What fetchAccountByMobileNumber builds from the joined projection. */
+    @Benchmark
+    public CustomerDto customerAccountProjectionToDto() {
+        CustomerDto dto = CustomerMapper.mapToCustomerDto(customerAccountDto, new CustomerDto());
+        dto.setAccountsDto(AccountsMapper.mapToAccountsDto(customerAccountDto, new AccountsDto()));
+        return dto;
+    }
+
+    @Benchmark
+    public Customer dtoToCustomer() {
+        return CustomerMapper.mapToCustomer(customerDto, new Customer());
+    }
+
+    @Benchmark
+    public Accounts dtoToAccounts() {
+        return AccountsMapper.mapToAccounts(customerDto.getAccountsDto(), new Accounts());
+    }
+
+    @Benchmark
+    public CardsDto cardsToDto() {
+        return CardsMapper.mapToCardsDto(cards);
+    }
+
+    @Benchmark
+    public Cards dtoToCards() {
+        return CardsMapper.mapToCards(cardsDto);
+    }
+
+    @Benchmark
+    public LoanDto loansToDto() {
+        return LoanMapper.mapToLoanDto(loans, new LoanDto());
+    }
+
+    @Benchmark
+    public Loans dtoToLoans() {
+        return LoanMapper.mapToLoan(loanDto, new Loans());
+    }
+
+    private CustomerDto fetchResponse() {
+        CustomerDto dto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+        dto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        return dto;
+    }
+}
@@ -0,0 +1,53 @@
+package com.udemy.benchmarks;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots one service without its web server, config server or bus, against a
+ * private in-memory H2 database.
+ */
+final class ServiceContexts {
+
+    private ServiceContexts() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param application - The service's @SpringBootApplication class
+     * @param name        - Service name, also used as the database name
+     */
+    static ConfigurableApplicationContext start(Class<?> application, String name) {
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(
+                        // every service jar ships an application.yml, load none of them
+                        "--spring.config.name=benchmark",
+                        "--spring.application.name=" + name,
+                        "--build.version=benchmark",
+                        "--spring.cloud.config.enabled=false",
+                        "--configsnapshot.enabled=false",
+                        "--spring.cloud.bus.enabled=false",
+                        // accounts builds its cards and loans clients at startup, none are called
+                        "--downstream.cards.base-url=http://localhost:9000",
+                        "--downstream.loans.base-url=http://localhost:8090",
+                        "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        // schema.sql of all three jars, they only create what does not exist yet
+                        "--spring.sql.init.schema-locations=classpath*:schema.sql",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        // measure the database path, not the customer cache
+                        "--spring.cache.type=none",
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration",
+                        "--spring.jmx.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+}
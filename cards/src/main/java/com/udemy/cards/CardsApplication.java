@@ -6,7 +6,8 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
-@EnableJpaAuditing
+// by name, processed ahead of time an auditor found by type is left unset
+@EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
 @ConfigurationPropertiesScan
 public class CardsApplication {
 
@@ -0,0 +1,20 @@
+package com.udemy.cards.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.udemy.cards.constans.CardsConstants;
+import com.udemy.idgen.BlockIdAllocator;
+
+@Configuration
+public class IdAllocatorConfig {
+
+    @Bean
+    BlockIdAllocator cardSerialAllocator(JdbcTemplate jdbcTemplate) {
+        return new BlockIdAllocator(
+                () -> jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR card_serial_block_seq", Long.class),
+                0L, CardsConstants.LAST_CARD_SERIAL, CardsConstants.CARD_SERIAL_BLOCK_SIZE,
+                CardsConstants.CARD_SERIAL_BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.udemy.cards.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.udemy.cards.dto.CardsInfoDto;
+import com.udemy.common.refresh.RefreshableProperties;
+
+/**
+ * The "cards" properties served by the info endpoint, bound again only when a
+ * refresh changes one of them.
+ */
+@Configuration
+public class InfoPropertiesConfig {
+
+    @Bean
+    RefreshableProperties<CardsInfoDto> cardsInfo(Environment environment) {
+        return new RefreshableProperties<>(environment, "cards", CardsInfoDto.class);
+    }
+}
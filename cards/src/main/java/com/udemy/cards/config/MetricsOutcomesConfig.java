@@ -0,0 +1,23 @@
+package com.udemy.cards.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.udemy.cards.exception.CardAlreadyExistsException;
+import com.udemy.cards.exception.InsufficientFundsException;
+import com.udemy.cards.exception.ResourceNotFoundException;
+import com.udemy.common.monitoring.MetricsOutcomes;
+
+@Configuration
+public class MetricsOutcomesConfig {
+
+    @Bean
+    MetricsOutcomes metricsOutcomes() {
+        return new MetricsOutcomes(Map.of(
+                ResourceNotFoundException.class, MetricsOutcomes.NOT_FOUND,
+                InsufficientFundsException.class, MetricsOutcomes.DECLINED,
+                CardAlreadyExistsException.class, MetricsOutcomes.CONFLICT));
+    }
+}
@@ -8,6 +8,13 @@ public final class CardsConstants {
 
     public static final String CREDIT_CARD = "Credit Card";
     public static final int NEW_CARD_LIMIT = 1_00_000;
+    public static final String CARD_ISSUER_PREFIX = "4";
+    public static final int CARD_NUMBER_LENGTH = 16;
+    public static final long LAST_CARD_SERIAL = 99_999_999_999_999L;
+    public static final int CARD_SERIAL_BLOCK_SIZE = 1_000;
+    public static final int CARD_SERIAL_BUFFER_SIZE = 20;
+    public static final int BATCH_FETCH_MAX_SIZE = 1_000;
+    public static final int BATCH_FETCH_CHUNK_SIZE = 500;
     public static final String STATUS_201 = "201";
     public static final String MESSAGE_201 = "Card created successfully";
     public static final String STATUS_200 = "200";
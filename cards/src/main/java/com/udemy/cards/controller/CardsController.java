@@ -1,8 +1,10 @@
 package com.udemy.cards.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,32 +15,39 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.udemy.cards.constans.CardsConstants;
+import com.udemy.cards.dto.BatchFetchResponseDto;
+import com.udemy.cards.dto.CardTransactionDto;
 import com.udemy.cards.dto.CardsDto;
 import com.udemy.cards.dto.CardsInfoDto;
+import com.udemy.cards.dto.ResponseDto;
 import com.udemy.cards.service.ICardsService;
+import com.udemy.common.refresh.RefreshableProperties;
+
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/cards")
-@RefreshScope
 public class CardsController {
 
     @Autowired
     private ICardsService cardsService;
 
     @Autowired
-    private CardsInfoDto cardsInfoDto;
+    private RefreshableProperties<CardsInfoDto> cardsInfo;
 
-    @Value("${build.version}")
-    private String buildVersion;
+    @Autowired
+    private Environment environment;
 
     @GetMapping("/card-info")
     public ResponseEntity<CardsInfoDto> getCardInfo() {
-        return ResponseEntity.ok(cardsInfoDto);
+        return ResponseEntity.ok(cardsInfo.get());
     }
 
     @GetMapping("/build-info")
     public ResponseEntity<String> getBuildInfo() {
-        return ResponseEntity.ok(this.buildVersion);
+        // read per request, so a refresh of build.version shows without a restart
+        return ResponseEntity.ok(environment.getProperty("build.version"));
     }
 
     @PostMapping("/{mobileNumber}")
@@ -51,6 +60,31 @@ public class CardsController {
         return cardsService.getCardDetails(mobileNumber);
     }
 
+    /**
+     * Looks up many customers in one call, answers with the cards found and
+     * the mobile numbers that have none.
+     */
+    @PostMapping("/batch-fetch")
+    public BatchFetchResponseDto batchFetchCardDetails(@RequestBody List<String> mobileNumbers) {
+        return cardsService.batchFetchCardDetails(mobileNumbers);
+    }
+
+    @PostMapping("/{cardNumber}/authorize")
+    public ResponseEntity<ResponseDto> authorize(@PathVariable String cardNumber,
+            @Valid @RequestBody CardTransactionDto cardTransactionDto) {
+        cardsService.authorize(cardNumber, cardTransactionDto.getAmount());
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(new ResponseDto(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200));
+    }
+
+    @PostMapping("/{cardNumber}/settle")
+    public ResponseEntity<ResponseDto> settle(@PathVariable String cardNumber,
+            @Valid @RequestBody CardTransactionDto cardTransactionDto) {
+        cardsService.settle(cardNumber, cardTransactionDto.getAmount());
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(new ResponseDto(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200));
+    }
+
     @PutMapping
     public boolean updateCard(@RequestBody CardsDto cardsDto) {
         return cardsService.updateCard(cardsDto);
@@ -0,0 +1,19 @@
+package com.udemy.cards.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BatchFetchResponseDto {
+
+    /** Cards keyed by mobile number, in request order. */
+    private Map<String, CardsDto> found = new LinkedHashMap<>();
+    /** Requested mobile numbers that have no card. */
+    private List<String> missing = new ArrayList<>();
+}
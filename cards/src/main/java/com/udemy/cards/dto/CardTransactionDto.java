@@ -0,0 +1,17 @@
+package com.udemy.cards.dto;
+
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardTransactionDto {
+
+    @Positive(message = "Amount should be greater than zero")
+    private int amount;
+}
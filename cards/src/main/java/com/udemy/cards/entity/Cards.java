@@ -1,15 +1,22 @@
 package com.udemy.cards.entity;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(indexes = { @Index(name = "ux_cards_mobile_number", columnList = "mobile_number", unique = true),
+        @Index(name = "ux_cards_card_number", columnList = "card_number", unique = true) })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,4 +32,8 @@ public class Cards extends BaseEntity {
     private int totalLimit;
     private int amountUsed;
     private int availableAmount;
+    // last card journal sequence folded into the balances, only ever written by the journal
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long journalSeq;
 }
@@ -0,0 +1,11 @@
+package com.udemy.cards.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int size, int maxSize) {
+        super(String.format("Batch of %d mobile numbers exceeds the limit of %d", size, maxSize));
+    }
+}
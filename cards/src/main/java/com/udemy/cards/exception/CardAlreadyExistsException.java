@@ -0,0 +1,11 @@
+package com.udemy.cards.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class CardAlreadyExistsException extends RuntimeException {
+    public CardAlreadyExistsException(String mobileNumber) {
+        super(String.format("Card already exists for mobile number : '%s'", mobileNumber));
+    }
+}
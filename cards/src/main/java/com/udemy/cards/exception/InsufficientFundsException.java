@@ -0,0 +1,11 @@
+package com.udemy.cards.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+public class InsufficientFundsException extends RuntimeException {
+    public InsufficientFundsException(String cardNumber, int amount) {
+        super(String.format("Card '%s' cannot cover an amount of %d", cardNumber, amount));
+    }
+}
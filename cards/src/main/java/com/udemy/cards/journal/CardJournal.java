@@ -0,0 +1,189 @@
+package com.udemy.cards.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of card balance changes, written into fixed-size
+ * memory-mapped segment files that are rolled over when full and never
+ * rewritten. A record is
+ * {@code length | sequence | timestamp | amount | card number length | card number | crc32};
+ * a zero length, or a record whose checksum does not match after a crash in
+ * the middle of an append, marks the end of a segment.
+ */
+public class CardJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "cards-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int BODY_HEADER_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES + Short.BYTES;
+    private static final int RECORD_OVERHEAD = Integer.BYTES + BODY_HEADER_SIZE + Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long lastSequence;
+
+    /**
+     * Opens the journal in the directory, continuing after the last complete
+     * record of the newest segment.
+     */
+    public CardJournal(Path directory, int segmentSize, boolean forceOnAppend) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+        Files.createDirectories(directory);
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            open(1);
+        } else {
+            Path newest = segments.get(segments.size() - 1);
+            open(firstSequence(newest));
+            lastSequence = firstSequence(newest) - 1;
+            for (Entry entry = read(segment); entry != null; entry = read(segment)) {
+                lastSequence = entry.sequence();
+            }
+        }
+    }
+
+    /**
+     * @param amount - Positive when charged to the card, negative when given back
+     * @return the sequence number of the new record
+     */
+    public synchronized long append(String cardNumber, int amount) {
+        byte[] card = cardNumber.getBytes(StandardCharsets.US_ASCII);
+        if (segment.remaining() < RECORD_OVERHEAD + card.length) {
+            roll();
+        }
+        long sequence = lastSequence + 1;
+        int start = segment.position();
+        int length = BODY_HEADER_SIZE + card.length;
+        segment.putInt(start, 0);
+        segment.position(start + Integer.BYTES);
+        segment.putLong(sequence).putLong(System.currentTimeMillis()).putInt(amount)
+                .putShort((short) card.length).put(card);
+        crc.reset();
+        crc.update(segment.slice(start + Integer.BYTES, length));
+        segment.putInt((int) crc.getValue());
+        // the length goes in last so a half-written record is never taken for a complete one
+        segment.putInt(start, length);
+        if (forceOnAppend) {
+            segment.force();
+        }
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Reads every record after the sequence number in order, skipping whole
+     * segments that lie before it.
+     */
+    public void replay(long afterSequence, Consumer<Entry> consumer) {
+        try {
+            List<Path> segments = segments();
+            for (int i = 0; i < segments.size(); i++) {
+                if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= afterSequence + 1) {
+                    continue;
+                }
+                try (FileChannel file = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                    ByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+                    for (Entry entry = read(buffer); entry != null; entry = read(buffer)) {
+                        if (entry.sequence() > afterSequence) {
+                            consumer.accept(entry);
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        segment.force();
+        channel.close();
+    }
+
+    private void roll() {
+        try {
+            segment.force();
+            channel.close();
+            open(lastSequence + 1);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void open(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // the zero-padded first sequence makes name order the log order
+            return files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * @return the record at the buffer position, which is moved past it, or
+     *         null at the end of the written part of the segment
+     */
+    private static Entry read(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_OVERHEAD) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        if (length < BODY_HEADER_SIZE || length > buffer.remaining() - 2 * Integer.BYTES) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + Integer.BYTES, length));
+        if ((int) crc.getValue() != buffer.getInt(start + Integer.BYTES + length)) {
+            return null;
+        }
+        int body = start + Integer.BYTES;
+        if (buffer.getShort(body + 20) != length - BODY_HEADER_SIZE) {
+            return null;
+        }
+        byte[] card = new byte[length - BODY_HEADER_SIZE];
+        buffer.get(body + BODY_HEADER_SIZE, card);
+        buffer.position(body + length + Integer.BYTES);
+        return new Entry(buffer.getLong(body), buffer.getLong(body + 8), new String(card, StandardCharsets.US_ASCII),
+                buffer.getInt(body + 16));
+    }
+
+    /**
+     * @param amount - Positive when charged to the card, negative when given back
+     */
+    public record Entry(long sequence, long timestamp, String cardNumber, int amount) {
+    }
+}
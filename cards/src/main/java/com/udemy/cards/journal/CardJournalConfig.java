@@ -0,0 +1,20 @@
+package com.udemy.cards.journal;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "cards.journal", name = "enabled", havingValue = "true")
+public class CardJournalConfig {
+
+    @Bean
+    CardJournal cardJournal(CardJournalProperties properties) throws IOException {
+        return new CardJournal(properties.directory(), Math.toIntExact(properties.segmentSize().toBytes()),
+                properties.forceOnAppend());
+    }
+}
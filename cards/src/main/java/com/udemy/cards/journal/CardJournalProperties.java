@@ -0,0 +1,24 @@
+package com.udemy.cards.journal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param enabled          - Keep card balances in memory and journal every
+ *                         change instead of updating the cards table
+ * @param directory        - Where the journal segments are kept
+ * @param segmentSize      - Size of each memory-mapped segment file
+ * @param snapshotInterval - Delay between folding the journal into the cards table
+ * @param forceOnAppend    - Flush every record to disk, surviving an OS crash
+ *                         and not just a crash of the service
+ */
+@ConfigurationProperties(prefix = "cards.journal")
+public record CardJournalProperties(boolean enabled, @DefaultValue("data/journal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize, @DefaultValue("30s") Duration snapshotInterval,
+        boolean forceOnAppend) {
+
+}
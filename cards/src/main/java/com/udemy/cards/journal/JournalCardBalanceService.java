@@ -0,0 +1,266 @@
+package com.udemy.cards.journal;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.udemy.cards.dto.CardsDto;
+import com.udemy.cards.exception.InsufficientFundsException;
+import com.udemy.cards.exception.ResourceNotFoundException;
+import com.udemy.cards.service.ICardBalanceService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Balances of the cards in use held in memory, every change appended to the
+ * {@link CardJournal} before it is applied. A snapshot periodically writes
+ * the changed balances to the cards table together with the journal sequence
+ * they include, and on start the journal after the last snapshot is replayed
+ * onto the table.
+ * <p>
+ * Each card row remembers the sequence of the last change folded into it, so
+ * a change is never applied twice, and cards left untouched since their last
+ * snapshot are dropped from memory.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "cards.journal", name = "enabled", havingValue = "true")
+public class JournalCardBalanceService implements ICardBalanceService, SmartLifecycle {
+
+    private static final String SELECT_BALANCE_SQL = """
+            SELECT amount_used, available_amount, journal_seq FROM cards WHERE card_number = ?""";
+    // never moves a row back behind a later snapshot or a replaced card
+    private static final String UPDATE_BALANCE_SQL = """
+            UPDATE cards SET amount_used = ?, available_amount = ?, journal_seq = ?, updated_at = ?, updated_by = ?
+            WHERE card_number = ? AND journal_seq < ?""";
+    private static final String UPDATE_SEQUENCE_SQL = "UPDATE cards SET journal_seq = ? WHERE card_number = ?";
+    private static final String SELECT_CHECKPOINT_SQL = "SELECT last_sequence FROM card_journal_checkpoint WHERE id = 1";
+    private static final String UPDATE_CHECKPOINT_SQL = """
+            UPDATE card_journal_checkpoint SET last_sequence = ? WHERE id = 1""";
+    private static final String INSERT_CHECKPOINT_SQL = """
+            INSERT INTO card_journal_checkpoint (id, last_sequence) VALUES (1, ?)""";
+
+    private final CardJournal cardJournal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final Map<String, Balance> balances = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    public JournalCardBalanceService(CardJournal cardJournal, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, AuditorAware<String> auditorAware) {
+        this.cardJournal = cardJournal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.auditorAware = auditorAware;
+    }
+
+    @Override
+    public void authorize(String cardNumber, int amount) {
+        apply(cardNumber, amount);
+    }
+
+    @Override
+    public void settle(String cardNumber, int amount) {
+        apply(cardNumber, -amount);
+    }
+
+    @Override
+    public CardsDto withCurrentBalance(CardsDto cardsDto) {
+        Balance balance = balances.get(cardsDto.getCardNumber());
+        if (balance != null) {
+            synchronized (balance) {
+                if (!balance.dropped) {
+                    cardsDto.setAmountUsed(balance.amountUsed);
+                    cardsDto.setAvailableAmount(balance.availableAmount);
+                }
+            }
+        }
+        return cardsDto;
+    }
+
+    /**
+     * Holds the card's balance while the row is written, so authorizations,
+     * settlements and snapshots of the card wait for the commit, and only
+     * then drops the balance from memory.
+     */
+    @Override
+    public void replace(String cardNumber, Runnable write) {
+        while (true) {
+            Balance balance = balances.computeIfAbsent(cardNumber, this::load);
+            synchronized (balance) {
+                if (balance.dropped) {
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    write.run();
+                    // the row as written is the balance now, earlier changes must not be replayed over it
+                    jdbcTemplate.update(UPDATE_SEQUENCE_SQL, cardJournal.lastSequence(), cardNumber);
+                });
+                balance.dropped = true;
+                dirty.remove(cardNumber);
+                balances.remove(cardNumber, balance);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Folds the balances changed since the last snapshot into the cards table.
+     */
+    @Scheduled(initialDelayString = "${cards.journal.snapshot-interval:30s}",
+            fixedDelayString = "${cards.journal.snapshot-interval:30s}")
+    public synchronized void snapshot() {
+        // every change up to here is applied before its card can be read below
+        long checkpoint = cardJournal.lastSequence();
+        List<String> cardNumbers = new ArrayList<>(dirty);
+        List<Object[]> rows = new ArrayList<>(cardNumbers.size());
+        LocalDateTime now = LocalDateTime.now();
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        for (String cardNumber : cardNumbers) {
+            dirty.remove(cardNumber);
+            Balance balance = balances.get(cardNumber);
+            if (balance != null) {
+                synchronized (balance) {
+                    if (!balance.dropped) {
+                        rows.add(new Object[] { balance.amountUsed, balance.availableAmount, balance.sequence,
+                                Timestamp.valueOf(now), auditor, cardNumber, balance.sequence });
+                    }
+                }
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, rows);
+                if (jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, checkpoint) == 0) {
+                    jdbcTemplate.update(INSERT_CHECKPOINT_SQL, checkpoint);
+                }
+            });
+        } catch (RuntimeException ex) {
+            dirty.addAll(cardNumbers);
+            throw ex;
+        }
+        for (Object[] row : rows) {
+            dropIfUnchanged((String) row[5], (long) row[2]);
+        }
+        log.debug("Snapshot of {} cards up to journal sequence {}", rows.size(), checkpoint);
+    }
+
+    /**
+     * Replays the journal after the last snapshot before the service takes
+     * any traffic.
+     */
+    @Override
+    public void start() {
+        Long checkpoint = jdbcTemplate.query(SELECT_CHECKPOINT_SQL, rs -> rs.next() ? rs.getLong(1) : 0L);
+        int[] replayed = new int[1];
+        cardJournal.replay(checkpoint, entry -> {
+            Balance balance = balances.computeIfAbsent(entry.cardNumber(), this::loadOrNull);
+            if (balance != null && entry.sequence() > balance.sequence) {
+                balance.apply(entry.amount(), entry.sequence());
+                dirty.add(entry.cardNumber());
+                replayed[0]++;
+            }
+        });
+        log.info("Replayed {} card journal entries after sequence {}", replayed[0], checkpoint);
+        snapshot();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        snapshot();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // before the web server starts and after it stops
+        return 0;
+    }
+
+    private void apply(String cardNumber, int amount) {
+        while (true) {
+            Balance balance = balances.computeIfAbsent(cardNumber, this::load);
+            synchronized (balance) {
+                if (balance.dropped) {
+                    continue;
+                }
+                if (amount > 0 ? balance.availableAmount < amount : balance.amountUsed < -amount) {
+                    throw new InsufficientFundsException(cardNumber, Math.abs(amount));
+                }
+                // marked before the append so a snapshot taken after it cannot miss the card
+                dirty.add(cardNumber);
+                balance.apply(amount, cardJournal.append(cardNumber, amount));
+                return;
+            }
+        }
+    }
+
+    private void dropIfUnchanged(String cardNumber, long sequence) {
+        balances.computeIfPresent(cardNumber, (key, balance) -> {
+            synchronized (balance) {
+                if (balance.sequence != sequence || dirty.contains(key)) {
+                    return balance;
+                }
+                balance.dropped = true;
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Cards not in memory have no change after their snapshot, the row is
+     * their balance.
+     */
+    private Balance load(String cardNumber) {
+        Balance balance = loadOrNull(cardNumber);
+        if (balance == null) {
+            throw new ResourceNotFoundException("card", "Card Number", cardNumber);
+        }
+        return balance;
+    }
+
+    private Balance loadOrNull(String cardNumber) {
+        return jdbcTemplate.query(SELECT_BALANCE_SQL,
+                rs -> rs.next() ? new Balance(rs.getInt(1), rs.getInt(2), rs.getLong(3)) : null, cardNumber);
+    }
+
+    private static final class Balance {
+        private int amountUsed;
+        private int availableAmount;
+        private long sequence;
+        // set once removed from memory, callers still holding it must load the card again
+        private boolean dropped;
+
+        private Balance(int amountUsed, int availableAmount, long sequence) {
+            this.amountUsed = amountUsed;
+            this.availableAmount = availableAmount;
+            this.sequence = sequence;
+        }
+
+        private void apply(int amount, long sequence) {
+            amountUsed += amount;
+            availableAmount -= amount;
+            this.sequence = sequence;
+        }
+    }
+}
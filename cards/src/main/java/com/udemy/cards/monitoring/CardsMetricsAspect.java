@@ -0,0 +1,28 @@
+package com.udemy.cards.monitoring;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import com.udemy.common.monitoring.MetricsOutcomes;
+import com.udemy.common.monitoring.ServiceMetricsAspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times the cards service methods, see {@link ServiceMetricsAspect}.
+ */
+@Aspect
+@Component
+public class CardsMetricsAspect extends ServiceMetricsAspect {
+
+    CardsMetricsAspect(MeterRegistry meterRegistry, MetricsOutcomes metricsOutcomes) {
+        super(meterRegistry, metricsOutcomes);
+    }
+
+    @Override
+    @Pointcut("execution(* com.udemy.cards.service.ICardsService+.*(..))")
+    public void serviceMethods() {
+        // only the pointcut
+    }
+}
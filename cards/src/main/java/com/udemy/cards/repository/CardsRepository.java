@@ -1,12 +1,49 @@
 package com.udemy.cards.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.udemy.cards.entity.Cards;
 
 public interface CardsRepository extends JpaRepository<Cards, Integer> {
 
     Optional<Cards> findByMobileNumber(String mobileNumber);
+
+    List<Cards> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+    boolean existsByCardNumber(String cardNumber);
+
+    /**
+     * @return 1 when the amount was taken from the card, 0 when the card is
+     *         unknown or its available amount is too low
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Cards c set c.amountUsed = c.amountUsed + :amount, c.availableAmount = c.availableAmount - :amount,
+                c.updatedAt = :updatedAt, c.updatedBy = :updatedBy
+            where c.cardNumber = :cardNumber and c.availableAmount >= :amount""")
+    int debit(@Param("cardNumber") String cardNumber, @Param("amount") int amount,
+            @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") String updatedBy);
+
+    /**
+     * @return 1 when the amount was given back to the card, 0 when the card is
+     *         unknown or less than the amount is in use
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Cards c set c.amountUsed = c.amountUsed - :amount, c.availableAmount = c.availableAmount + :amount,
+                c.updatedAt = :updatedAt, c.updatedBy = :updatedBy
+            where c.cardNumber = :cardNumber and c.amountUsed >= :amount""")
+    int credit(@Param("cardNumber") String cardNumber, @Param("amount") int amount,
+            @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") String updatedBy);
 }
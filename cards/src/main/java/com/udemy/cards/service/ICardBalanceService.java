@@ -0,0 +1,35 @@
+package com.udemy.cards.service;
+
+import com.udemy.cards.dto.CardsDto;
+
+/**
+ * Owns the amount used and the available amount of every card.
+ */
+public interface ICardBalanceService {
+
+    /**
+     * @throws com.udemy.cards.exception.ResourceNotFoundException  for an unknown card
+     * @throws com.udemy.cards.exception.InsufficientFundsException when the
+     *                                                              available amount is too low
+     */
+    void authorize(String cardNumber, int amount);
+
+    /**
+     * @throws com.udemy.cards.exception.ResourceNotFoundException  for an unknown card
+     * @throws com.udemy.cards.exception.InsufficientFundsException when less
+     *                                                              than the amount is in use
+     */
+    void settle(String cardNumber, int amount);
+
+    /**
+     * @return the card details with balances not yet written to the cards table
+     */
+    CardsDto withCurrentBalance(CardsDto cardsDto);
+
+    /**
+     * Overwrites or deletes the card row with the given write, in a
+     * transaction of its own, so that no balance change of the card lands
+     * between the write and its commit.
+     */
+    void replace(String cardNumber, Runnable write);
+}
@@ -1,5 +1,8 @@
 package com.udemy.cards.service;
 
+import java.util.List;
+
+import com.udemy.cards.dto.BatchFetchResponseDto;
 import com.udemy.cards.dto.CardsDto;
 
 public interface ICardsService {
@@ -7,7 +10,31 @@ public interface ICardsService {
 
     boolean updateCard(CardsDto cardsDto);
 
+    /**
+     * Takes the amount from the available amount atomically, so concurrent
+     * authorizations can never overdraw the card.
+     *
+     * @param cardNumber - Number of the card to charge
+     * @param amount     - Positive amount to authorize
+     * @return true when the amount was authorized
+     */
+    boolean authorize(String cardNumber, int amount);
+
+    /**
+     * @param cardNumber - Number of the card to credit
+     * @param amount     - Positive amount to give back, at most the amount used
+     * @return true when the amount was settled
+     */
+    boolean settle(String cardNumber, int amount);
+
     boolean deleteCard(String mobileNumber);
 
     CardsDto getCardDetails(String mobileNumber);
+
+    /**
+     * @param mobileNumbers - Mobile Numbers to look up, at most
+     *                      {@code BATCH_FETCH_MAX_SIZE}, duplicates are ignored
+     * @return the cards found and the mobile numbers without one
+     */
+    BatchFetchResponseDto batchFetchCardDetails(List<String> mobileNumbers);
 }
@@ -0,0 +1,72 @@
+package com.udemy.cards.service.Impl;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.udemy.cards.dto.CardsDto;
+import com.udemy.cards.exception.InsufficientFundsException;
+import com.udemy.cards.exception.ResourceNotFoundException;
+import com.udemy.cards.repository.CardsRepository;
+import com.udemy.cards.service.ICardBalanceService;
+
+/**
+ * Balances kept in the cards table, every change a single conditional update.
+ */
+@Service
+@ConditionalOnProperty(prefix = "cards.journal", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class CardBalanceServiceImpl implements ICardBalanceService {
+
+    @Autowired
+    private CardsRepository cardsRepository;
+
+    @Autowired
+    private AuditorAware<String> auditorAware;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void authorize(String cardNumber, int amount) {
+        if (cardsRepository.debit(cardNumber, amount, LocalDateTime.now(), currentAuditor()) == 0) {
+            throw rejection(cardNumber, amount);
+        }
+    }
+
+    @Override
+    public void settle(String cardNumber, int amount) {
+        if (cardsRepository.credit(cardNumber, amount, LocalDateTime.now(), currentAuditor()) == 0) {
+            throw rejection(cardNumber, amount);
+        }
+    }
+
+    @Override
+    public CardsDto withCurrentBalance(CardsDto cardsDto) {
+        return cardsDto;
+    }
+
+    @Override
+    public void replace(String cardNumber, Runnable write) {
+        // nothing held outside the table, the row lock orders the write with debits and credits
+        transactionTemplate.executeWithoutResult(status -> write.run());
+    }
+
+    /**
+     * Only looks the card up once an update matched no row, the successful
+     * path stays a single statement.
+     */
+    private RuntimeException rejection(String cardNumber, int amount) {
+        if (!cardsRepository.existsByCardNumber(cardNumber)) {
+            return new ResourceNotFoundException("card", "Card Number", cardNumber);
+        }
+        return new InsufficientFundsException(cardNumber, amount);
+    }
+
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+}
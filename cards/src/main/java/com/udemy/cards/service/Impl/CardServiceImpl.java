@@ -1,18 +1,30 @@
 package com.udemy.cards.service.Impl;
 
-import java.util.Random;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.udemy.cards.constans.CardsConstants;
+import com.udemy.cards.dto.BatchFetchResponseDto;
 import com.udemy.cards.dto.CardsDto;
 import com.udemy.cards.entity.Cards;
+import com.udemy.cards.exception.BatchTooLargeException;
+import com.udemy.cards.exception.CardAlreadyExistsException;
 import com.udemy.cards.exception.ResourceNotFoundException;
 import com.udemy.cards.mapper.CardsMapper;
 import com.udemy.cards.repository.CardsRepository;
+import com.udemy.cards.service.ICardBalanceService;
 import com.udemy.cards.service.ICardsService;
+import com.udemy.common.exception.UniqueViolations;
+import com.udemy.idgen.BlockIdAllocator;
+import com.udemy.idgen.LuhnCardNumbers;
 
 @Service
 public class CardServiceImpl implements ICardsService {
@@ -20,19 +32,32 @@ public class CardServiceImpl implements ICardsService {
     @Autowired
     private CardsRepository cardsRepository;
 
+    @Autowired
+    private BlockIdAllocator cardSerialAllocator;
+
+    @Autowired
+    private ICardBalanceService cardBalanceService;
+
     @Override
     public CardsDto createCard(String mobileNumber) {
         Cards newCard = createNewCard(mobileNumber);
-        cardsRepository.save(newCard);
+        try {
+            cardsRepository.saveAndFlush(newCard);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueViolations.isUniqueViolation(ex)) {
+                throw new CardAlreadyExistsException(mobileNumber);
+            }
+            throw ex;
+        }
         return CardsMapper.mapToCardsDto(newCard);
     }
 
     @Override
-    @Transactional
     public boolean deleteCard(String mobileNumber) {
         Cards card = cardsRepository.findByMobileNumber(mobileNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber));
-        cardsRepository.delete(card);
+        // not in a transaction here, the balance service must see the delete commit before it lets go of the card
+        cardBalanceService.replace(card.getCardNumber(), () -> cardsRepository.delete(card));
         return true;
     }
 
@@ -40,7 +65,34 @@ public class CardServiceImpl implements ICardsService {
     public CardsDto getCardDetails(String mobileNumber) {
         Cards card = cardsRepository.findByMobileNumber(mobileNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("card", "Mobile Number", mobileNumber));
-        return CardsMapper.mapToCardsDto(card);
+        return cardBalanceService.withCurrentBalance(CardsMapper.mapToCardsDto(card));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchFetchResponseDto batchFetchCardDetails(List<String> mobileNumbers) {
+        if (mobileNumbers.size() > CardsConstants.BATCH_FETCH_MAX_SIZE) {
+            throw new BatchTooLargeException(mobileNumbers.size(), CardsConstants.BATCH_FETCH_MAX_SIZE);
+        }
+        List<String> distinctMobileNumbers = mobileNumbers.stream().filter(Objects::nonNull).distinct().toList();
+        Map<String, CardsDto> cards = new HashMap<>();
+        // bounded IN lists keep the statement size and the query plan cache in check
+        for (int from = 0; from < distinctMobileNumbers.size(); from += CardsConstants.BATCH_FETCH_CHUNK_SIZE) {
+            int to = Math.min(from + CardsConstants.BATCH_FETCH_CHUNK_SIZE, distinctMobileNumbers.size());
+            cardsRepository.findByMobileNumberIn(distinctMobileNumbers.subList(from, to))
+                    .forEach(card -> cards.put(card.getMobileNumber(),
+                            cardBalanceService.withCurrentBalance(CardsMapper.mapToCardsDto(card))));
+        }
+        BatchFetchResponseDto batchFetchResponseDto = new BatchFetchResponseDto();
+        for (String mobileNumber : distinctMobileNumbers) {
+            CardsDto card = cards.get(mobileNumber);
+            if (card != null) {
+                batchFetchResponseDto.getFound().put(mobileNumber, card);
+            } else {
+                batchFetchResponseDto.getMissing().add(mobileNumber);
+            }
+        }
+        return batchFetchResponseDto;
     }
 
     @Override
@@ -50,7 +102,19 @@ public class CardServiceImpl implements ICardsService {
         card.setTotalLimit(cardsDto.getTotalLimit());
         card.setAmountUsed(cardsDto.getAmountUsed());
         card.setAvailableAmount(cardsDto.getAvailableAmount());
-        cardsRepository.save(card);
+        cardBalanceService.replace(card.getCardNumber(), () -> cardsRepository.saveAndFlush(card));
+        return true;
+    }
+
+    @Override
+    public boolean authorize(String cardNumber, int amount) {
+        cardBalanceService.authorize(cardNumber, amount);
+        return true;
+    }
+
+    @Override
+    public boolean settle(String cardNumber, int amount) {
+        cardBalanceService.settle(cardNumber, amount);
         return true;
     }
 
@@ -60,8 +124,8 @@ public class CardServiceImpl implements ICardsService {
      */
     private Cards createNewCard(String mobileNumber) {
         Cards newCard = new Cards();
-        long randomCardNumber = 100000000000L + new Random().nextInt(900000000);
-        newCard.setCardNumber(Long.toString(randomCardNumber));
+        newCard.setCardNumber(LuhnCardNumbers.cardNumber(CardsConstants.CARD_ISSUER_PREFIX,
+                cardSerialAllocator.nextId(), CardsConstants.CARD_NUMBER_LENGTH));
         newCard.setMobileNumber(mobileNumber);
         newCard.setCardType(CardsConstants.CREDIT_CARD);
         newCard.setTotalLimit(CardsConstants.NEW_CARD_LIMIT);
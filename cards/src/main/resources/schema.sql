@@ -1,3 +1,6 @@
+-- each value reserves a block of CARD_SERIAL_BLOCK_SIZE card serials
+CREATE SEQUENCE IF NOT EXISTS `card_serial_block_seq` START WITH 0 MINVALUE 0;
+
 CREATE TABLE IF NOT EXISTS `cards` (
   `card_id` int NOT NULL AUTO_INCREMENT,
   `mobile_number` varchar(15) NOT NULL,
@@ -10,5 +13,17 @@ CREATE TABLE IF NOT EXISTS `cards` (
   `created_by` varchar(20) NOT NULL,
   `updated_at` date DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
+  `journal_seq` bigint NOT NULL DEFAULT 0,
   PRIMARY KEY (`card_id`)
-);
\ No newline at end of file
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_cards_mobile_number` ON `cards` (`mobile_number`);
+
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_cards_card_number` ON `cards` (`card_number`);
+
+-- last card journal sequence folded into the cards table
+CREATE TABLE IF NOT EXISTS `card_journal_checkpoint` (
+  `id` int NOT NULL,
+  `last_sequence` bigint NOT NULL,
+  PRIMARY KEY (`id`)
+);
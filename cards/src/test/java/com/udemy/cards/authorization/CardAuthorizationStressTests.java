@@ -0,0 +1,140 @@
+package com.udemy.cards.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.udemy.cards.constans.CardsConstants;
+import com.udemy.cards.dto.CardsDto;
+import com.udemy.cards.exception.InsufficientFundsException;
+import com.udemy.cards.exception.ResourceNotFoundException;
+import com.udemy.cards.service.ICardsService;
+import com.udemy.common.test.Concurrently;
+
+/**
+ * Hammers a single card from many threads and checks that no authorization
+ * is lost and the card is never overdrawn.
+ */
+@SpringBootTest
+class CardAuthorizationStressTests {
+
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 500;
+    // THREADS * CALLS_PER_THREAD * AMOUNT is well above the card limit
+    private static final int AMOUNT = 30;
+
+    @Autowired
+    private ICardsService cardsService;
+
+    @Test
+    void concurrentAuthorizationsNeverOverdraw() throws Exception {
+        String cardNumber = cardsService.createCard("8000000001").getCardNumber();
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger declined = new AtomicInteger();
+
+        Concurrently.run(THREADS, thread -> () -> {
+            authorize(cardNumber, approved, declined);
+            return null;
+        });
+
+        CardsDto card = cardsService.getCardDetails("8000000001");
+        assertAll(
+                () -> assertEquals(CardsConstants.NEW_CARD_LIMIT / AMOUNT, approved.get()),
+                () -> assertEquals(THREADS * CALLS_PER_THREAD, approved.get() + declined.get()),
+                () -> assertEquals(approved.get() * AMOUNT, card.getAmountUsed()),
+                () -> assertEquals(CardsConstants.NEW_CARD_LIMIT - approved.get() * AMOUNT,
+                        card.getAvailableAmount()));
+    }
+
+    @Test
+    void concurrentAuthorizationsAndSettlementsKeepBalancesConsistent() throws Exception {
+        String cardNumber = cardsService.createCard("8000000002").getCardNumber();
+        AtomicInteger authorized = new AtomicInteger();
+        AtomicInteger settled = new AtomicInteger();
+        AtomicInteger declined = new AtomicInteger();
+
+        Concurrently.run(THREADS, thread -> () -> {
+            if (thread % 2 == 0) {
+                authorize(cardNumber, authorized, declined);
+            } else {
+                settle(cardNumber, settled, declined);
+            }
+            return null;
+        });
+
+        CardsDto card = cardsService.getCardDetails("8000000002");
+        int used = (authorized.get() - settled.get()) * AMOUNT;
+        assertAll(
+                () -> assertEquals(THREADS * CALLS_PER_THREAD, authorized.get() + settled.get() + declined.get()),
+                () -> assertEquals(used, card.getAmountUsed()),
+                () -> assertEquals(CardsConstants.NEW_CARD_LIMIT - used, card.getAvailableAmount()));
+    }
+
+    @Test
+    void updateDuringAuthorizationsIsNotOverwritten() throws Exception {
+        String cardNumber = cardsService.createCard("8000000003").getCardNumber();
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger declined = new AtomicInteger();
+        CountDownLatch updating = new CountDownLatch(THREADS / 4);
+
+        Concurrently.run(THREADS, thread -> () -> {
+            if (thread % 4 != 0) {
+                // until the last update, which is when a balance read in the middle of one would be left behind
+                while (updating.getCount() > 0) {
+                    authorize(cardNumber, approved, declined);
+                }
+                return null;
+            }
+            for (int i = 0; i < CALLS_PER_THREAD / 10; i++) {
+                // a limit of its own per update, so a balance left over from an earlier one shows
+                int newLimit = 2 * CardsConstants.NEW_CARD_LIMIT + thread * CALLS_PER_THREAD + i;
+                CardsDto update = cardsService.getCardDetails("8000000003");
+                update.setTotalLimit(newLimit);
+                update.setAmountUsed(0);
+                update.setAvailableAmount(newLimit);
+                cardsService.updateCard(update);
+            }
+            updating.countDown();
+            return null;
+        });
+
+        // whichever authorizations came after the last update, they are on top of its limit
+        CardsDto card = cardsService.getCardDetails("8000000003");
+        assertEquals(card.getTotalLimit(), card.getAmountUsed() + card.getAvailableAmount());
+    }
+
+    @Test
+    void unknownCardIsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> cardsService.authorize("4000000000000000", AMOUNT));
+        assertThrows(ResourceNotFoundException.class, () -> cardsService.settle("4000000000000000", AMOUNT));
+    }
+
+    private void authorize(String cardNumber, AtomicInteger approved, AtomicInteger declined) {
+        for (int i = 0; i < CALLS_PER_THREAD; i++) {
+            try {
+                cardsService.authorize(cardNumber, AMOUNT);
+                approved.incrementAndGet();
+            } catch (InsufficientFundsException ex) {
+                declined.incrementAndGet();
+            }
+        }
+    }
+
+    private void settle(String cardNumber, AtomicInteger settled, AtomicInteger declined) {
+        for (int i = 0; i < CALLS_PER_THREAD; i++) {
+            try {
+                cardsService.settle(cardNumber, AMOUNT);
+                settled.incrementAndGet();
+            } catch (InsufficientFundsException ex) {
+                declined.incrementAndGet();
+            }
+        }
+    }
+}
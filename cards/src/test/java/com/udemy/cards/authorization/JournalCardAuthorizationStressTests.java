@@ -0,0 +1,21 @@
+package com.udemy.cards.authorization;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * The same stress tests with balances kept by the card journal.
+ */
+@SpringBootTest(properties = { "cards.journal.enabled=true", "spring.datasource.url=jdbc:h2:mem:cards-journal" })
+class JournalCardAuthorizationStressTests extends CardAuthorizationStressTests {
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("cards-journal").toString();
+        registry.add("cards.journal.directory", () -> directory);
+    }
+}
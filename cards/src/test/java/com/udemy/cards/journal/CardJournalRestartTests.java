@@ -0,0 +1,86 @@
+package com.udemy.cards.journal;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.udemy.cards.CardsApplication;
+import com.udemy.cards.constans.CardsConstants;
+import com.udemy.cards.dto.CardsDto;
+import com.udemy.cards.service.ICardsService;
+
+/**
+ * Restarts the service on the same journal directory and database, first as
+ * if it had crashed right after a snapshot and then after a clean shutdown,
+ * and checks that every authorization is in the balance exactly once.
+ */
+class CardJournalRestartTests {
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:cards-journal-restart;DB_CLOSE_DELAY=-1";
+    private static final String MOBILE_NUMBER = "8100000001";
+    private static final int AMOUNT = 1_000;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void balancesAreSnapshotPlusJournalTail() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(DATABASE_URL, "sa", ""));
+        Map<String, Object> snapshotRow;
+        Long snapshotCheckpoint;
+        try (ConfigurableApplicationContext context = start()) {
+            ICardsService cardsService = context.getBean(ICardsService.class);
+            String cardNumber = cardsService.createCard(MOBILE_NUMBER).getCardNumber();
+            cardsService.authorize(cardNumber, AMOUNT);
+            context.getBean(JournalCardBalanceService.class).snapshot();
+            snapshotRow = jdbcTemplate.queryForMap(
+                    "SELECT amount_used, available_amount, journal_seq FROM cards WHERE card_number = ?", cardNumber);
+            snapshotCheckpoint = jdbcTemplate.queryForObject(
+                    "SELECT last_sequence FROM card_journal_checkpoint WHERE id = 1", Long.class);
+            // only in the journal when the service goes down
+            cardsService.authorize(cardNumber, 2 * AMOUNT);
+            cardsService.settle(cardNumber, AMOUNT);
+        }
+        // undo what the snapshot on shutdown wrote, as if the process had been killed
+        jdbcTemplate.update("UPDATE cards SET amount_used = ?, available_amount = ?, journal_seq = ? WHERE mobile_number = ?",
+                snapshotRow.get("AMOUNT_USED"), snapshotRow.get("AVAILABLE_AMOUNT"), snapshotRow.get("JOURNAL_SEQ"),
+                MOBILE_NUMBER);
+        jdbcTemplate.update("UPDATE card_journal_checkpoint SET last_sequence = ? WHERE id = 1", snapshotCheckpoint);
+
+        CardsDto afterCrash;
+        try (ConfigurableApplicationContext context = start()) {
+            afterCrash = context.getBean(ICardsService.class).getCardDetails(MOBILE_NUMBER);
+        }
+        CardsDto afterShutdown;
+        try (ConfigurableApplicationContext context = start()) {
+            afterShutdown = context.getBean(ICardsService.class).getCardDetails(MOBILE_NUMBER);
+        }
+
+        assertAll(
+                () -> assertEquals(AMOUNT, snapshotRow.get("AMOUNT_USED")),
+                () -> assertEquals(2 * AMOUNT, afterCrash.getAmountUsed()),
+                () -> assertEquals(CardsConstants.NEW_CARD_LIMIT - 2 * AMOUNT, afterCrash.getAvailableAmount()),
+                () -> assertEquals(2 * AMOUNT, afterShutdown.getAmountUsed()),
+                () -> assertEquals(CardsConstants.NEW_CARD_LIMIT - 2 * AMOUNT, afterShutdown.getAvailableAmount()));
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CardsApplication.class).run(
+                "--server.port=0",
+                "--cards.journal.enabled=true",
+                "--cards.journal.directory=" + directory,
+                "--cards.journal.snapshot-interval=1h",
+                "--spring.datasource.url=" + DATABASE_URL,
+                // the tables outlive each context, schema.sql creates them once
+                "--spring.jpa.hibernate.ddl-auto=none");
+    }
+}
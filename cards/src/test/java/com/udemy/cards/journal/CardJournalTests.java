@@ -0,0 +1,126 @@
+package com.udemy.cards.journal;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CardJournalTests {
+
+    // room for a handful of records per segment
+    private static final int SEGMENT_SIZE = 256;
+    private static final String CARD_NUMBER = "4000000000000002";
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("cards-journal");
+    }
+
+    @Test
+    void replayReturnsRecordsInOrderAcrossSegments() throws IOException {
+        try (CardJournal journal = new CardJournal(directory, SEGMENT_SIZE, false)) {
+            for (int i = 1; i <= 20; i++) {
+                assertEquals(i, journal.append(CARD_NUMBER, i % 2 == 0 ? -i : i));
+            }
+        }
+
+        List<CardJournal.Entry> entries = replay(0);
+
+        assertAll(
+                () -> assertTrue(segmentCount() > 1),
+                () -> assertEquals(20, entries.size()),
+                () -> assertEquals(1, entries.get(0).sequence()),
+                () -> assertEquals(1, entries.get(0).amount()),
+                () -> assertEquals(-20, entries.get(19).amount()),
+                () -> assertEquals(CARD_NUMBER, entries.get(19).cardNumber()));
+    }
+
+    @Test
+    void replaySkipsRecordsUpToTheSequence() throws IOException {
+        try (CardJournal journal = new CardJournal(directory, SEGMENT_SIZE, false)) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(CARD_NUMBER, 10);
+            }
+        }
+
+        List<CardJournal.Entry> entries = replay(15);
+
+        assertEquals(List.of(16L, 17L, 18L, 19L, 20L), entries.stream().map(CardJournal.Entry::sequence).toList());
+    }
+
+    @Test
+    void reopenedJournalContinuesAfterTheLastRecord() throws IOException {
+        try (CardJournal journal = new CardJournal(directory, SEGMENT_SIZE, false)) {
+            journal.append(CARD_NUMBER, 10);
+            journal.append(CARD_NUMBER, 20);
+        }
+        try (CardJournal journal = new CardJournal(directory, SEGMENT_SIZE, false)) {
+            assertEquals(2, journal.lastSequence());
+            assertEquals(3, journal.append(CARD_NUMBER, 30));
+        }
+
+        assertEquals(List.of(10, 20, 30), replay(0).stream().map(CardJournal.Entry::amount).toList());
+    }
+
+    @Test
+    void tornRecordEndsTheJournalAndIsOverwritten() throws IOException {
+        try (CardJournal journal = new CardJournal(directory, SEGMENT_SIZE, false)) {
+            journal.append(CARD_NUMBER, 10);
+            journal.append(CARD_NUMBER, 20);
+        }
+        // flip a byte in the last amount as if the append had not finished
+        Path segment = segments().get(0);
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int secondRecord = recordSize(file);
+            file.write(ByteBuffer.wrap(new byte[] { 0x7f }), secondRecord + Integer.BYTES + 16);
+        }
+
+        try (CardJournal journal = new CardJournal(directory, SEGMENT_SIZE, false)) {
+            assertEquals(1, journal.lastSequence());
+            assertEquals(2, journal.append(CARD_NUMBER, 30));
+        }
+
+        assertEquals(List.of(10, 30), replay(0).stream().map(CardJournal.Entry::amount).toList());
+    }
+
+    private List<CardJournal.Entry> replay(long afterSequence) throws IOException {
+        List<CardJournal.Entry> entries = new ArrayList<>();
+        try (CardJournal journal = new CardJournal(directory, SEGMENT_SIZE, false)) {
+            journal.replay(afterSequence, entries::add);
+        }
+        return entries;
+    }
+
+    private long segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /**
+     * @return the size of the first record, which is where the second one starts
+     */
+    private static int recordSize(FileChannel file) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        file.read(length, 0);
+        return Integer.BYTES + length.flip().getInt() + Integer.BYTES;
+    }
+}
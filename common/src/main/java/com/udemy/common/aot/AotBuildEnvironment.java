@@ -0,0 +1,105 @@
+package com.udemy.common.aot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * The settings an image was built ahead of time with that decide which beans
+ * exist, and so cannot change when it runs: the properties listed under
+ * {@code aot.fixed-properties}, which of the profiles listed under
+ * {@code aot.fixed-profiles} were active, and whether context refresh was
+ * available.
+ *
+ * @param properties     - Value of each fixed property, null when it was not set
+ * @param profiles       - Fixed profiles that were active
+ * @param contextRefresh - Whether there was a ContextRefresher
+ */
+record AotBuildEnvironment(Map<String, String> properties, Set<String> profiles, boolean contextRefresh) {
+
+    static final String LOCATION = "META-INF/aot-build-environment.properties";
+    static final String FIXED_PROPERTIES = "aot.fixed-properties";
+    static final String FIXED_PROFILES = "aot.fixed-profiles";
+    private static final String PROPERTY_PREFIX = "property.";
+    private static final String UNSET_PREFIX = "unset.";
+    private static final String PROFILES = "profiles";
+    private static final String CONTEXT_REFRESH = "context-refresh";
+
+    /**
+     * @return the fixed settings as they are in the environment
+     */
+    static AotBuildEnvironment of(Environment environment, boolean contextRefresh) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        fixedProperties(environment).forEach(name -> properties.put(name, environment.getProperty(name)));
+        Set<String> profiles = new TreeSet<>(fixedProfiles(environment));
+        profiles.retainAll(Arrays.asList(environment.getActiveProfiles()));
+        return new AotBuildEnvironment(properties, profiles, contextRefresh);
+    }
+
+    static List<String> fixedProperties(Environment environment) {
+        return Binder.get(environment).bind(FIXED_PROPERTIES, Bindable.listOf(String.class)).orElse(List.of());
+    }
+
+    static List<String> fixedProfiles(Environment environment) {
+        return Binder.get(environment).bind(FIXED_PROFILES, Bindable.listOf(String.class)).orElse(List.of());
+    }
+
+    /**
+     * @return the settings the image was built with, or null when it was not built ahead of time
+     */
+    static AotBuildEnvironment read(ClassLoader classLoader) {
+        try (InputStream input = classLoader.getResourceAsStream(LOCATION)) {
+            if (input == null) {
+                return null;
+            }
+            Properties stored = new Properties();
+            stored.load(input);
+            Map<String, String> properties = new LinkedHashMap<>();
+            for (String name : new TreeSet<>(stored.stringPropertyNames())) {
+                if (name.startsWith(PROPERTY_PREFIX)) {
+                    properties.put(name.substring(PROPERTY_PREFIX.length()), stored.getProperty(name));
+                } else if (name.startsWith(UNSET_PREFIX)) {
+                    properties.put(name.substring(UNSET_PREFIX.length()), null);
+                }
+            }
+            return new AotBuildEnvironment(properties,
+                    StringUtils.commaDelimitedListToSet(stored.getProperty(PROFILES, "")),
+                    Boolean.parseBoolean(stored.getProperty(CONTEXT_REFRESH)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read " + LOCATION, ex);
+        }
+    }
+
+    String write() {
+        Properties stored = new Properties();
+        properties.forEach((name, value) -> {
+            if (value == null) {
+                stored.setProperty(UNSET_PREFIX + name, "");
+            } else {
+                stored.setProperty(PROPERTY_PREFIX + name, value);
+            }
+        });
+        stored.setProperty(PROFILES, String.join(",", profiles));
+        stored.setProperty(CONTEXT_REFRESH, Boolean.toString(contextRefresh));
+        StringWriter writer = new StringWriter();
+        try {
+            stored.store(writer, "Settings fixed when the image was built ahead of time");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return writer.toString();
+    }
+}
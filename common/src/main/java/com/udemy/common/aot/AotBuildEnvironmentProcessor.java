@@ -0,0 +1,28 @@
+package com.udemy.common.aot;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.aot.generate.GeneratedFiles.Kind;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * Records the {@link AotBuildEnvironment} next to the code Spring AOT
+ * generates, for {@link AotEnvironmentGuard} to check when the image runs.
+ */
+class AotBuildEnvironmentProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        AotBuildEnvironment buildEnvironment = AotBuildEnvironment.of(beanFactory.getBean(Environment.class),
+                beanFactory.getBeanNamesForType(ContextRefresher.class, false, false).length > 0);
+        ByteArrayResource content = new ByteArrayResource(buildEnvironment.write().getBytes(StandardCharsets.ISO_8859_1));
+        // applied once per context processed, which may be more than one, with the same content
+        return (generationContext, code) -> generationContext.getGeneratedFiles()
+                .handleFile(Kind.RESOURCE, AotBuildEnvironment.LOCATION, file -> file.override(content));
+    }
+}
@@ -0,0 +1,83 @@
+package com.udemy.common.aot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.logging.Log;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Stops an image built ahead of time from starting with settings other than
+ * the ones it was built with, which it would otherwise ignore. The config
+ * data, including the config server's, is loaded by then, so a change from
+ * there is caught as well as one from the environment.
+ * <p>
+ * Context refresh is not available in such an image, so exposing the refresh
+ * endpoints only gets a warning: they answer, but nothing is rebound.
+ */
+public class AotEnvironmentGuard implements EnvironmentPostProcessor, Ordered {
+
+    private static final String EXPOSED_ENDPOINTS = "management.endpoints.web.exposure.include";
+    private static final Set<String> REFRESH_ENDPOINTS = Set.of("refresh", "busrefresh");
+
+    private final Log log;
+
+    public AotEnvironmentGuard(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(AotEnvironmentGuard.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ClassLoader classLoader = application != null ? application.getClassLoader()
+                : AotEnvironmentGuard.class.getClassLoader();
+        AotBuildEnvironment built = AotBuildEnvironment.read(classLoader);
+        if (built == null) {
+            return;
+        }
+        AotBuildEnvironment running = AotBuildEnvironment.of(environment, built.contextRefresh());
+        List<String> changes = new ArrayList<>();
+        for (Map.Entry<String, String> property : built.properties().entrySet()) {
+            String value = environment.getProperty(property.getKey());
+            if (!Objects.equals(property.getValue(), value)) {
+                changes.add(property.getKey() + "=" + value + " (built with " + property.getValue() + ")");
+            }
+        }
+        if (!built.profiles().equals(running.profiles())) {
+            changes.add("profiles " + running.profiles() + " (built with " + built.profiles() + ")");
+        }
+        if (!changes.isEmpty()) {
+            throw new IllegalStateException("This image was built ahead of time and cannot apply "
+                    + String.join(", ", changes) + ". Rebuild it with these settings, or start it without"
+                    + " -Dspring.aot.enabled=true");
+        }
+        if (!built.contextRefresh()) {
+            Set<String> exposed = new TreeSet<>(Binder.get(environment)
+                    .bind(EXPOSED_ENDPOINTS, Bindable.setOf(String.class)).orElse(Set.of()));
+            exposed.retainAll(REFRESH_ENDPOINTS);
+            if (!exposed.isEmpty()) {
+                log.warn("Context refresh is not available in an image built ahead of time, " + exposed
+                        + " will not apply config changes until the service is restarted");
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
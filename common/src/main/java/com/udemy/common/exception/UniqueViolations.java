@@ -0,0 +1,23 @@
+package com.udemy.common.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+public final class UniqueViolations {
+
+    private UniqueViolations() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param ex - Exception raised while writing to the database
+     * @return true when it was caused by a unique index or primary key violation
+     */
+    public static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+}
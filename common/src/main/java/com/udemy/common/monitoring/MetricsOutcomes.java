@@ -0,0 +1,50 @@
+package com.udemy.common.monitoring;
+
+import java.util.Map;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.udemy.common.exception.UniqueViolations;
+
+/**
+ * Outcome tag of the service and repository timers. Each service maps its own
+ * exceptions; optimistic locking failures and unique index violations are
+ * conflicts in every service.
+ */
+public class MetricsOutcomes {
+
+    public static final String SUCCESS = "success";
+    public static final String NOT_FOUND = "not-found";
+    public static final String CONFLICT = "conflict";
+    public static final String DECLINED = "declined";
+    public static final String ERROR = "error";
+
+    private final Map<Class<? extends Throwable>, String> outcomes;
+
+    /**
+     * @param outcomes - Outcome of each exception of the service, also used for its subclasses
+     */
+    public MetricsOutcomes(Map<Class<? extends Throwable>, String> outcomes) {
+        this.outcomes = Map.copyOf(outcomes);
+    }
+
+    /**
+     * @param error - Exception thrown by the timed call, null when it returned normally
+     * @return value of the outcome tag
+     */
+    public String of(Throwable error) {
+        if (error == null) {
+            return SUCCESS;
+        }
+        for (Class<?> type = error.getClass(); type != null; type = type.getSuperclass()) {
+            String outcome = outcomes.get(type);
+            if (outcome != null) {
+                return outcome;
+            }
+        }
+        if (error instanceof OptimisticLockingFailureException || UniqueViolations.isUniqueViolation(error)) {
+            return CONFLICT;
+        }
+        return ERROR;
+    }
+}
@@ -0,0 +1,29 @@
+package com.udemy.common.monitoring;
+
+import org.springframework.boot.actuate.autoconfigure.metrics.data.RepositoryMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@AutoConfiguration(before = RepositoryMetricsAutoConfiguration.class)
+@ConditionalOnClass(MeterRegistry.class)
+public class MonitoringAutoConfiguration {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(meterRegistry);
+    }
+
+    // the service declares its MetricsOutcomes, which maps its exceptions
+    @Bean
+    @ConditionalOnBean(MetricsOutcomes.class)
+    OutcomeRepositoryTagsProvider outcomeRepositoryTagsProvider(MetricsOutcomes metricsOutcomes) {
+        return new OutcomeRepositoryTagsProvider(metricsOutcomes);
+    }
+}
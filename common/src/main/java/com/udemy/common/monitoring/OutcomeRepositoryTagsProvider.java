@@ -0,0 +1,26 @@
+package com.udemy.common.monitoring;
+
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Adds the outcome tag to the spring.data.repository.invocations timer, next
+ * to the default repository, method, state and exception tags.
+ */
+public class OutcomeRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+
+    private final MetricsOutcomes metricsOutcomes;
+
+    OutcomeRepositoryTagsProvider(MetricsOutcomes metricsOutcomes) {
+        this.metricsOutcomes = metricsOutcomes;
+    }
+
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        return Tags.of(super.repositoryTags(invocation))
+                .and("outcome", metricsOutcomes.of(invocation.getResult().getError()));
+    }
+}
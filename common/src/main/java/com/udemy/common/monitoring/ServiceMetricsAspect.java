@@ -0,0 +1,50 @@
+package com.udemy.common.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every service method into the {@value #SERVICE_TIMER} timer, tagged
+ * with the method and its outcome. Each service extends it with the pointcut
+ * of its service interfaces.
+ */
+@Aspect
+public abstract class ServiceMetricsAspect {
+
+    public static final String SERVICE_TIMER = "service.method";
+
+    private final MeterRegistry meterRegistry;
+    private final MetricsOutcomes metricsOutcomes;
+
+    protected ServiceMetricsAspect(MeterRegistry meterRegistry, MetricsOutcomes metricsOutcomes) {
+        this.meterRegistry = meterRegistry;
+        this.metricsOutcomes = metricsOutcomes;
+    }
+
+    @Pointcut
+    public abstract void serviceMethods();
+
+    @Around("serviceMethods()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            error = ex;
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_TIMER)
+                    .description("Service method invocations")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", metricsOutcomes.of(error))
+                    .register(meterRegistry));
+        }
+    }
+}
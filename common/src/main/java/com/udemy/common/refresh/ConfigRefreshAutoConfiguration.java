@@ -0,0 +1,34 @@
+package com.udemy.common.refresh;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.bus.BusBridge;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RefreshRemoteApplicationEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(after = RefreshAutoConfiguration.class)
+@ConditionalOnClass(RefreshRemoteApplicationEvent.class)
+@ConditionalOnBean(ContextRefresher.class)
+@ConditionalOnProperty(value = "spring.cloud.bus.refresh.enabled", havingValue = "false")
+@EnableConfigurationProperties(ConfigRefreshProperties.class)
+public class ConfigRefreshAutoConfiguration {
+
+    @Bean
+    JitteredBusRefreshListener jitteredBusRefreshListener(ContextRefresher contextRefresher,
+            ObjectProvider<ServiceMatcher> serviceMatcher, ObjectProvider<BusProperties> busProperties,
+            ObjectProvider<Destination.Factory> destinationFactory, ObjectProvider<BusBridge> busBridge,
+            ApplicationEventPublisher publisher, ConfigRefreshProperties properties) {
+        return new JitteredBusRefreshListener(contextRefresher, serviceMatcher, busProperties, destinationFactory,
+                busBridge, publisher, properties.maxJitter());
+    }
+}
@@ -0,0 +1,14 @@
+package com.udemy.common.refresh;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxJitter - Longest random delay before a bus refresh is applied
+ */
+@ConfigurationProperties(prefix = "configrefresh")
+public record ConfigRefreshProperties(@DefaultValue("10s") Duration maxJitter) {
+
+}
@@ -0,0 +1,128 @@
+package com.udemy.common.refresh;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.bus.BusBridge;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.AckRemoteApplicationEvent;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RefreshRemoteApplicationEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Applies a bus refresh after a random delay of up to {@code maxJitter}, so
+ * that the instances of a fleet do not all reload their configuration at the
+ * same moment. Refreshes arriving while one is pending are folded into it.
+ * Only the environment is refreshed, the {@link RefreshableProperties} whose
+ * properties changed rebind themselves from the resulting
+ * {@code EnvironmentChangeEvent}.
+ * <p>
+ * Takes the place of the bus's own listener, which is turned off with
+ * {@code spring.cloud.bus.refresh.enabled=false}. That one refreshed while the
+ * bus delivered the event, so the bus's acknowledgement meant the refresh was
+ * done; here it only means the event arrived. With
+ * {@code spring.cloud.bus.ack.enabled} a second {@link AckRemoteApplicationEvent}
+ * is sent for every event once the refresh that covers it has been applied.
+ */
+public class JitteredBusRefreshListener implements ApplicationListener<RefreshRemoteApplicationEvent>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JitteredBusRefreshListener.class);
+
+    private final ContextRefresher contextRefresher;
+    private final ObjectProvider<ServiceMatcher> serviceMatcher;
+    private final ObjectProvider<BusProperties> busProperties;
+    private final ObjectProvider<Destination.Factory> destinationFactory;
+    private final ObjectProvider<BusBridge> busBridge;
+    private final ApplicationEventPublisher publisher;
+    private final Duration maxJitter;
+    // the events the scheduled refresh will apply, empty when none is scheduled
+    private final List<RefreshRemoteApplicationEvent> pending = new ArrayList<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bus-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JitteredBusRefreshListener(ContextRefresher contextRefresher, ObjectProvider<ServiceMatcher> serviceMatcher,
+            ObjectProvider<BusProperties> busProperties, ObjectProvider<Destination.Factory> destinationFactory,
+            ObjectProvider<BusBridge> busBridge, ApplicationEventPublisher publisher, Duration maxJitter) {
+        this.contextRefresher = contextRefresher;
+        this.serviceMatcher = serviceMatcher;
+        this.busProperties = busProperties;
+        this.destinationFactory = destinationFactory;
+        this.busBridge = busBridge;
+        this.publisher = publisher;
+        this.maxJitter = maxJitter;
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRemoteApplicationEvent event) {
+        ServiceMatcher matcher = serviceMatcher.getIfAvailable();
+        if (matcher != null && !matcher.isForSelf(event)) {
+            log.debug("Refresh not performed, the event was targeting {}", event.getDestinationService());
+            return;
+        }
+        synchronized (pending) {
+            pending.add(event);
+            if (pending.size() > 1) {
+                return;
+            }
+        }
+        long delay = maxJitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(maxJitter.toMillis() + 1);
+        log.info("Received remote refresh request, refreshing in {} ms", delay);
+        executor.schedule(this::refresh, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void refresh() {
+        List<RefreshRemoteApplicationEvent> events;
+        // taken first so a refresh arriving from here on is not lost
+        synchronized (pending) {
+            events = new ArrayList<>(pending);
+            pending.clear();
+        }
+        try {
+            Set<String> keys = contextRefresher.refreshEnvironment();
+            log.info("Keys refreshed {}", keys);
+        } catch (RuntimeException ex) {
+            log.warn("Bus refresh failed", ex);
+            return;
+        }
+        events.forEach(this::acknowledge);
+    }
+
+    /**
+     * Sends the acknowledgement the bus would, now that the event is applied.
+     */
+    private void acknowledge(RefreshRemoteApplicationEvent event) {
+        BusProperties properties = busProperties.getIfAvailable();
+        ServiceMatcher matcher = serviceMatcher.getIfAvailable();
+        Destination.Factory destinations = destinationFactory.getIfAvailable();
+        if (properties == null || !properties.getAck().isEnabled() || matcher == null || destinations == null) {
+            return;
+        }
+        AckRemoteApplicationEvent ack = new AckRemoteApplicationEvent(this, matcher.getBusId(),
+                destinations.getDestination(properties.getAck().getDestinationService()),
+                event.getDestinationService(), event.getId(), event.getClass());
+        busBridge.ifAvailable(bridge -> bridge.send(ack));
+        publisher.publishEvent(ack);
+    }
+}
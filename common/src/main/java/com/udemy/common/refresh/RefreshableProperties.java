@@ -0,0 +1,59 @@
+package com.udemy.common.refresh;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Holds an immutable properties record bound from the environment and binds
+ * a new one when a refresh changes a property under its prefix. Readers get
+ * the current record with a volatile read instead of calling through a
+ * refresh scoped proxy, and nothing is rebuilt for changes elsewhere.
+ *
+ * <p>
+ * Not a {@code Supplier}, Spring Cloud Function would take the bean for a
+ * function and fail on its type variable when processed ahead of time.
+ *
+ * @param <T> - Type of the record, bound through its constructor
+ */
+public class RefreshableProperties<T> implements ApplicationListener<EnvironmentChangeEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshableProperties.class);
+
+    private final Environment environment;
+    private final ConfigurationPropertyName prefix;
+    private final Class<T> type;
+    private volatile T properties;
+
+    public RefreshableProperties(Environment environment, String prefix, Class<T> type) {
+        this.environment = environment;
+        this.prefix = ConfigurationPropertyName.of(prefix);
+        this.type = type;
+        this.properties = bind();
+    }
+
+    public T get() {
+        return properties;
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(this::isUnderPrefix)) {
+            properties = bind();
+            log.info("Rebound {} after a change under {}", type.getSimpleName(), prefix);
+        }
+    }
+
+    private boolean isUnderPrefix(String key) {
+        ConfigurationPropertyName name = ConfigurationPropertyName.adapt(key, '.');
+        return prefix.equals(name) || prefix.isAncestorOf(name);
+    }
+
+    private T bind() {
+        return Binder.get(environment).bindOrCreate(prefix.toString(), type);
+    }
+}
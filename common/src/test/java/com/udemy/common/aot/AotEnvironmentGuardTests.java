@@ -0,0 +1,169 @@
+package com.udemy.common.aot;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aot.AotDetector;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedFiles.Kind;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.javapoet.ClassName;
+
+/**
+ * Builds the settings file as Spring AOT would and starts against it with
+ * other settings.
+ */
+class AotEnvironmentGuardTests {
+
+    private static final DeferredLogFactory LOG_FACTORY = destination -> destination.get();
+
+    @TempDir
+    Path directory;
+
+    private URLClassLoader classLoader;
+
+    @BeforeEach
+    void enableAot() {
+        System.setProperty(AotDetector.AOT_ENABLED, "true");
+    }
+
+    @AfterEach
+    void disableAot() throws IOException {
+        System.clearProperty(AotDetector.AOT_ENABLED);
+        if (classLoader != null) {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    void sameSettingsStart() throws IOException {
+        build(environment(Map.of("cards.journal.enabled", "false")));
+
+        assertDoesNotThrow(() -> guard(environment(Map.of("cards.journal.enabled", "false"))));
+    }
+
+    @Test
+    void changedPropertyFails() throws IOException {
+        build(environment(Map.of("cards.journal.enabled", "false")));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> guard(environment(Map.of("cards.journal.enabled", "true"))));
+
+        assertTrue(ex.getMessage().contains("cards.journal.enabled=true (built with false)"), ex.getMessage());
+    }
+
+    @Test
+    void propertyUnsetAtBuildFailsWhenSet() throws IOException {
+        build(environment(Map.of()));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> guard(environment(Map.of("spring.threads.virtual.enabled", "true"))));
+
+        assertTrue(ex.getMessage().contains("spring.threads.virtual.enabled=true (built with null)"), ex.getMessage());
+    }
+
+    @Test
+    void fixedProfileFails() throws IOException {
+        build(environment(Map.of()));
+        StandardEnvironment running = environment(Map.of());
+        running.setActiveProfiles("qa", "reactive");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> guard(running));
+
+        assertTrue(ex.getMessage().contains("profiles [reactive] (built with [])"), ex.getMessage());
+    }
+
+    @Test
+    void otherProfilesStart() throws IOException {
+        build(environment(Map.of()));
+        StandardEnvironment running = environment(Map.of());
+        running.setActiveProfiles("qa", "constrained");
+
+        assertDoesNotThrow(() -> guard(running));
+    }
+
+    @Test
+    void withoutAotNothingIsChecked() throws IOException {
+        build(environment(Map.of()));
+        System.clearProperty(AotDetector.AOT_ENABLED);
+
+        assertDoesNotThrow(() -> guard(environment(Map.of("cards.journal.enabled", "true"))));
+    }
+
+    @Test
+    void settingsReadBack() throws IOException {
+        AotBuildEnvironment built = AotBuildEnvironment.of(environment(Map.of("cards.journal.enabled", "false")), false);
+
+        write(built.write());
+
+        assertEquals(built, AotBuildEnvironment.read(classLoader()));
+    }
+
+    /**
+     * Runs the processor against the environment and keeps the file it generates.
+     */
+    private void build(StandardEnvironment environment) throws IOException {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("environment", environment);
+        InMemoryGeneratedFiles generatedFiles = new InMemoryGeneratedFiles();
+        DefaultGenerationContext generationContext = new DefaultGenerationContext(
+                new ClassNameGenerator(ClassName.get("com.example", "Application")), generatedFiles);
+        new AotBuildEnvironmentProcessor().processAheadOfTime(beanFactory).applyTo(generationContext, null);
+
+        write(generatedFiles.getGeneratedFileContent(Kind.RESOURCE, AotBuildEnvironment.LOCATION));
+    }
+
+    private void write(String settings) throws IOException {
+        Path file = directory.resolve(AotBuildEnvironment.LOCATION);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, settings, StandardCharsets.ISO_8859_1);
+    }
+
+    private void guard(StandardEnvironment environment) {
+        SpringApplication application = new SpringApplication();
+        application.setResourceLoader(new DefaultResourceLoader(classLoader()));
+        new AotEnvironmentGuard(LOG_FACTORY).postProcessEnvironment(environment, application);
+    }
+
+    private ClassLoader classLoader() {
+        if (classLoader == null) {
+            try {
+                classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return classLoader;
+    }
+
+    private static StandardEnvironment environment(Map<String, String> properties) {
+        Map<String, Object> source = new HashMap<>(properties);
+        source.put("aot.fixed-properties", "spring.threads.virtual.enabled, cards.journal.enabled");
+        source.put("aot.fixed-profiles", "reactive");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", source));
+        return environment;
+    }
+}
@@ -0,0 +1,32 @@
+package com.udemy.common.exception;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
+import org.junit.jupiter.api.Test;
+
+class UniqueViolationsTests {
+
+    @Test
+    void uniqueViolationIsFoundAnywhereInTheCauses() {
+        RuntimeException wrapped = new RuntimeException("could not execute statement",
+                violation(ConstraintKind.UNIQUE));
+
+        assertTrue(UniqueViolations.isUniqueViolation(new IllegalStateException(wrapped)));
+    }
+
+    @Test
+    void otherConstraintsAndFailuresAreNot() {
+        assertFalse(UniqueViolations.isUniqueViolation(violation(ConstraintKind.OTHER)));
+        assertFalse(UniqueViolations.isUniqueViolation(new RuntimeException(new SQLException("connection reset"))));
+        assertFalse(UniqueViolations.isUniqueViolation(null));
+    }
+
+    private static ConstraintViolationException violation(ConstraintKind kind) {
+        return new ConstraintViolationException("constraint violated", new SQLException("23505"), kind, "UK_MOBILE");
+    }
+}
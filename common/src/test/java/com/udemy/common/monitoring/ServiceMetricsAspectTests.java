@@ -0,0 +1,86 @@
+package com.udemy.common.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ServiceMetricsAspectTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void serviceMethodsAreTimedWithTheirOutcome() {
+        Greetings greetings = proxy(new Greetings.Impl());
+
+        greetings.greet("ann");
+        assertThrows(NoSuchGreetingException.class, () -> greetings.greet(""));
+        assertThrows(OptimisticLockingFailureException.class, () -> greetings.greet(null));
+
+        assertAll(
+                () -> assertEquals(1, count(MetricsOutcomes.SUCCESS)),
+                () -> assertEquals(1, count(MetricsOutcomes.NOT_FOUND)),
+                () -> assertEquals(1, count(MetricsOutcomes.CONFLICT)),
+                () -> assertEquals(0, count(MetricsOutcomes.ERROR)));
+    }
+
+    private Greetings proxy(Greetings target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new GreetingsMetricsAspect(meterRegistry,
+                new MetricsOutcomes(Map.of(NoSuchGreetingException.class, MetricsOutcomes.NOT_FOUND))));
+        return factory.getProxy();
+    }
+
+    private long count(String outcome) {
+        return meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("class", "Greetings", "method", "greet", "outcome", outcome)
+                .timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    public interface Greetings {
+
+        String greet(String name);
+
+        class Impl implements Greetings {
+
+            @Override
+            public String greet(String name) {
+                if (name == null) {
+                    throw new OptimisticLockingFailureException("changed meanwhile");
+                }
+                if (name.isEmpty()) {
+                    throw new NoSuchGreetingException();
+                }
+                return "hello " + name;
+            }
+        }
+    }
+
+    static class NoSuchGreetingException extends IllegalArgumentException {
+    }
+
+    @Aspect
+    static class GreetingsMetricsAspect extends ServiceMetricsAspect {
+
+        GreetingsMetricsAspect(MeterRegistry meterRegistry, MetricsOutcomes metricsOutcomes) {
+            super(meterRegistry, metricsOutcomes);
+        }
+
+        @Override
+        @Pointcut("execution(* com.udemy.common.monitoring.ServiceMetricsAspectTests.Greetings+.*(..))")
+        public void serviceMethods() {
+            // only the pointcut
+        }
+    }
+}
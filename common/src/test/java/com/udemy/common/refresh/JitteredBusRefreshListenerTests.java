@@ -0,0 +1,140 @@
+package com.udemy.common.refresh;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.bus.BusBridge;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.PathServiceMatcher;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.AckRemoteApplicationEvent;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.cloud.bus.event.RefreshRemoteApplicationEvent;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.AntPathMatcher;
+
+class JitteredBusRefreshListenerTests {
+
+    private static final String BUS_ID = "accounts:8080:a1";
+
+    private final CountDownLatch refreshStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseRefresh = new CountDownLatch(1);
+    private final StubRefresher refresher = new StubRefresher();
+    private final List<RemoteApplicationEvent> sent = new CopyOnWriteArrayList<>();
+    private final List<Object> published = new CopyOnWriteArrayList<>();
+    private final BusProperties busProperties = new BusProperties();
+    private JitteredBusRefreshListener listener;
+
+    @AfterEach
+    void destroy() {
+        releaseRefresh.countDown();
+        listener.destroy();
+    }
+
+    @Test
+    void acknowledgesEachFoldedEventOnceTheRefreshIsApplied() throws InterruptedException {
+        busProperties.getAck().setEnabled(true);
+        listener = listener();
+        RefreshRemoteApplicationEvent first = event();
+        RefreshRemoteApplicationEvent second = event();
+
+        listener.onApplicationEvent(first);
+        assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+        assertTrue(sent.isEmpty(), "acknowledged before the refresh was applied");
+        releaseRefresh.countDown();
+        awaitAcks(1);
+        // arrives once the first refresh is done, so it gets its own
+        listener.onApplicationEvent(second);
+        awaitAcks(2);
+
+        assertAll(
+                () -> assertEquals(List.of(first.getId(), second.getId()),
+                        sent.stream().map(ack -> ((AckRemoteApplicationEvent) ack).getAckId()).toList()),
+                () -> assertEquals(BUS_ID, sent.get(0).getOriginService()),
+                () -> assertEquals(RefreshRemoteApplicationEvent.class,
+                        ((AckRemoteApplicationEvent) sent.get(0)).getEvent()),
+                () -> assertEquals(sent, published),
+                () -> assertEquals(2, refresher.refreshes));
+    }
+
+    @Test
+    void noAcknowledgementWhenAcksAreOff() throws InterruptedException {
+        busProperties.getAck().setEnabled(false);
+        listener = listener();
+
+        listener.onApplicationEvent(event());
+        releaseRefresh.countDown();
+        assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        assertAll(
+                () -> assertEquals(1, refresher.refreshes),
+                () -> assertTrue(sent.isEmpty()),
+                () -> assertTrue(published.isEmpty()));
+    }
+
+    private JitteredBusRefreshListener listener() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("serviceMatcher", new PathServiceMatcher(new AntPathMatcher(":"), BUS_ID));
+        beans.addBean("busProperties", busProperties);
+        beans.addBean("destinationFactory", new PathDestinationFactory());
+        beans.addBean("busBridge", (BusBridge) sent::add);
+        return new JitteredBusRefreshListener(refresher, beans.getBeanProvider(ServiceMatcher.class),
+                beans.getBeanProvider(BusProperties.class), beans.getBeanProvider(Destination.Factory.class),
+                beans.getBeanProvider(BusBridge.class), published::add, Duration.ZERO);
+    }
+
+    private RefreshRemoteApplicationEvent event() {
+        return new RefreshRemoteApplicationEvent(this, "configserver:8071:c1", new PathDestinationFactory().getDestination(null));
+    }
+
+    private void awaitAcks(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, sent.size());
+    }
+
+    /**
+     * Counts the refreshes and holds the first one until the test releases it.
+     */
+    private class StubRefresher extends ContextRefresher {
+
+        private volatile int refreshes;
+
+        StubRefresher() {
+            super(new GenericApplicationContext(), null);
+        }
+
+        @Override
+        public synchronized Set<String> refreshEnvironment() {
+            refreshStarted.countDown();
+            try {
+                releaseRefresh.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            refreshes++;
+            return Set.of("accounts.message");
+        }
+
+        @Override
+        protected void updateEnvironment() {
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.udemy.common.refresh;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+class RefreshablePropertiesTests {
+
+    private final Map<String, Object> source = new HashMap<>(Map.of(
+            "accounts.message", "Welcome",
+            "accounts.onCallSupport[0]", "(555) 555-1234",
+            "cards.message", "Cards"));
+    private final StandardEnvironment environment = environment(source);
+    private final RefreshableProperties<InfoDto> info = new RefreshableProperties<>(environment, "accounts",
+            InfoDto.class);
+
+    @Test
+    void changeUnderThePrefixRebinds() {
+        source.put("accounts.message", "Welcome back");
+        source.put("accounts.onCallSupport[1]", "(555) 523-1345");
+
+        info.onApplicationEvent(new EnvironmentChangeEvent(Set.of("accounts.message", "accounts.onCallSupport[1]")));
+
+        assertEquals(new InfoDto("Welcome back", List.of("(555) 555-1234", "(555) 523-1345")), info.get());
+    }
+
+    @Test
+    void changeElsewhereKeepsTheRecord() {
+        InfoDto before = info.get();
+        source.put("cards.message", "Cards changed");
+        // a prefix of the name is not enough, it must be a whole element
+        source.put("accountsExtra", "x");
+
+        info.onApplicationEvent(new EnvironmentChangeEvent(Set.of("cards.message", "accountsExtra")));
+
+        assertSame(before, info.get());
+    }
+
+    private static StandardEnvironment environment(Map<String, Object> source) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", source));
+        return environment;
+    }
+
+    record InfoDto(String message, List<String> onCallSupport) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.udemy.configserver.snapshot;
+
+import java.util.Map;
+
+/**
+ * Environments resolved at one point in time, already serialized, keyed by
+ * {@code application/profile}. Never changed once built, a reload builds a
+ * new one.
+ */
+public record EnvironmentSnapshot(Map<String, Resolved> environments, long loadedAt) {
+
+    public static final EnvironmentSnapshot EMPTY = new EnvironmentSnapshot(Map.of(), 0);
+
+    public Resolved get(String application, String profile) {
+        return environments.get(key(application, profile));
+    }
+
+    static String key(String application, String profile) {
+        return application + "/" + profile;
+    }
+
+    /**
+     * @param body - The environment as served, decrypted
+     * @param etag - Quoted hash of the body
+     */
+    public record Resolved(byte[] body, String etag) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.udemy.configserver.snapshot;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.cloud.config.environment.EnvironmentMediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers {@code GET {prefix}/{application}/{profile}} from the current
+ * {@link EnvironmentSnapshot}, with its precomputed ETag, and {@code 304}
+ * when the client already has it. Anything not in the snapshot, such as
+ * another label or several profiles at once, goes on to the config server.
+ * Every environment request is timed by application and profile.
+ */
+public class EnvironmentSnapshotFilter extends OncePerRequestFilter {
+
+    static final String OUTCOME_SNAPSHOT = "SNAPSHOT";
+    static final String OUTCOME_NOT_MODIFIED = "NOT_MODIFIED";
+    static final String OUTCOME_SERVER = "SERVER";
+    // keeps the tags bounded whatever paths clients send
+    private static final String OTHER = "other";
+
+    private final EnvironmentSnapshotLoader loader;
+    private final String prefix;
+    private final String label;
+    private final Set<String> applications;
+    private final Set<String> profiles;
+    private final MeterRegistry meterRegistry;
+
+    public EnvironmentSnapshotFilter(EnvironmentSnapshotLoader loader, String prefix, SnapshotProperties properties,
+            MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.prefix = prefix;
+        this.label = properties.label();
+        this.applications = Set.copyOf(properties.applications());
+        this.profiles = Set.copyOf(properties.profiles());
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || path(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String[] path = path(request);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_SERVER;
+        try {
+            EnvironmentSnapshot.Resolved resolved = path.length == 2 || path[2].equals(label)
+                    ? loader.current().get(path[0], path[1])
+                    : null;
+            if (resolved == null) {
+                chain.doFilter(request, response);
+            } else if (new ServletWebRequest(request, response).checkNotModified(resolved.etag())) {
+                outcome = OUTCOME_NOT_MODIFIED;
+            } else {
+                outcome = OUTCOME_SNAPSHOT;
+                response.setContentType(contentType(request));
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+                response.setContentLength(resolved.body().length);
+                response.getOutputStream().write(resolved.body());
+            }
+        } finally {
+            sample.stop(Timer.builder("configserver.environment")
+                    .description("Time to answer a client's environment request")
+                    .tag("application", applications.contains(path[0]) ? path[0] : OTHER)
+                    .tag("profile", profiles.contains(path[1]) ? path[1] : OTHER)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @return application, profile and label if any, or null when the request
+     *         is not for an environment
+     */
+    private String[] path(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        if (!uri.startsWith(prefix + "/")) {
+            return null;
+        }
+        String[] path = uri.substring(prefix.length() + 1).split("/");
+        // single segments are the actuator and property file endpoints
+        return path.length == 2 || path.length == 3 ? path : null;
+    }
+
+    /**
+     * Config clients ask for the v2 media type, the body is the same.
+     */
+    private static String contentType(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(EnvironmentMediaType.V2_JSON) ? EnvironmentMediaType.V2_JSON
+                : MediaType.APPLICATION_JSON_VALUE;
+    }
+}
@@ -0,0 +1,137 @@
+package com.udemy.configserver.snapshot;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.config.ConfigServerProperties;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Resolves every configured application and profile through the config
+ * server's repository, decrypts and serializes them once, and swaps the
+ * result in as the current {@link EnvironmentSnapshot}. A reload that fails
+ * leaves the previous snapshot in place.
+ */
+public class EnvironmentSnapshotLoader implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EnvironmentSnapshotLoader.class);
+
+    private final EnvironmentRepository environmentRepository;
+    private final List<EnvironmentEncryptor> environmentEncryptors;
+    private final ObjectMapper objectMapper;
+    private final SnapshotProperties properties;
+    private final Timer reloadTimer;
+    private final AtomicReference<EnvironmentSnapshot> snapshot = new AtomicReference<>(EnvironmentSnapshot.EMPTY);
+    private volatile boolean running;
+
+    public EnvironmentSnapshotLoader(EnvironmentRepository environmentRepository,
+            List<EnvironmentEncryptor> environmentEncryptors, ConfigServerProperties configServerProperties,
+            ObjectMapper objectMapper, SnapshotProperties properties, MeterRegistry meterRegistry) {
+        this.environmentRepository = environmentRepository;
+        // the same switch that makes the server decrypt what it serves
+        this.environmentEncryptors = configServerProperties.getEncrypt().isEnabled() ? environmentEncryptors : List.of();
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.reloadTimer = Timer.builder("configserver.snapshot.reload")
+                .description("Time to resolve all environments into a new snapshot")
+                .register(meterRegistry);
+    }
+
+    public EnvironmentSnapshot current() {
+        return snapshot.get();
+    }
+
+    @Scheduled(initialDelayString = "${configserver.snapshot.reload-interval:30s}",
+            fixedDelayString = "${configserver.snapshot.reload-interval:30s}")
+    public void reload() {
+        try {
+            EnvironmentSnapshot loaded = reloadTimer.recordCallable(this::load);
+            EnvironmentSnapshot previous = snapshot.getAndSet(loaded);
+            log.debug("Environment snapshot reloaded, {} of {} environments changed",
+                    changed(previous, loaded), loaded.environments().size());
+        } catch (Exception ex) {
+            log.warn("Environment snapshot reload failed, still serving the one loaded at {}",
+                    snapshot.get().loadedAt(), ex);
+        }
+    }
+
+    /**
+     * Loads the first snapshot before the server takes traffic.
+     */
+    @Override
+    public void start() {
+        reload();
+        log.info("Environment snapshot loaded with {} environments", snapshot.get().environments().size());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // before the web server starts and after it stops
+        return 0;
+    }
+
+    private EnvironmentSnapshot load() throws JsonProcessingException {
+        Map<String, EnvironmentSnapshot.Resolved> environments = new LinkedHashMap<>();
+        for (String application : properties.applications()) {
+            for (String profile : properties.profiles()) {
+                Environment environment = environmentRepository.findOne(application, profile, properties.label());
+                // left to the server, which answers not found for these
+                if (environment == null || environment.getPropertySources().isEmpty()) {
+                    continue;
+                }
+                for (EnvironmentEncryptor environmentEncryptor : environmentEncryptors) {
+                    environment = environmentEncryptor.decrypt(environment);
+                }
+                byte[] body = objectMapper.writeValueAsBytes(environment);
+                environments.put(EnvironmentSnapshot.key(application, profile),
+                        new EnvironmentSnapshot.Resolved(body, etag(body)));
+            }
+        }
+        return new EnvironmentSnapshot(Map.copyOf(environments), System.currentTimeMillis());
+    }
+
+    private static long changed(EnvironmentSnapshot previous, EnvironmentSnapshot loaded) {
+        return loaded.environments().entrySet().stream()
+                .filter(entry -> {
+                    EnvironmentSnapshot.Resolved before = previous.environments().get(entry.getKey());
+                    return before == null || !before.etag().equals(entry.getValue().etag());
+                })
+                .count();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body)) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.udemy.configserver.snapshot;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.config.ConfigServerProperties;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SnapshotProperties.class)
+@ConditionalOnProperty(prefix = "configserver.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotConfig {
+
+    @Bean
+    EnvironmentSnapshotLoader environmentSnapshotLoader(EnvironmentRepository environmentRepository,
+            ObjectProvider<EnvironmentEncryptor> environmentEncryptors, ConfigServerProperties configServerProperties,
+            ObjectMapper objectMapper, SnapshotProperties properties, MeterRegistry meterRegistry) {
+        return new EnvironmentSnapshotLoader(environmentRepository, environmentEncryptors.orderedStream().toList(),
+                configServerProperties, objectMapper, properties, meterRegistry);
+    }
+
+    @Bean
+    EnvironmentSnapshotFilter environmentSnapshotFilter(EnvironmentSnapshotLoader environmentSnapshotLoader,
+            @Value("${spring.cloud.config.server.prefix:}") String prefix, SnapshotProperties properties,
+            MeterRegistry meterRegistry) {
+        return new EnvironmentSnapshotFilter(environmentSnapshotLoader, prefix, properties, meterRegistry);
+    }
+}
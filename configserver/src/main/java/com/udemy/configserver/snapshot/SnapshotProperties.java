@@ -0,0 +1,22 @@
+package com.udemy.configserver.snapshot;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled        - Serve the listed environments from an in-memory
+ *                       snapshot instead of resolving them on every request
+ * @param applications   - Applications resolved into the snapshot
+ * @param profiles       - Profiles resolved for each application
+ * @param label          - Label to resolve, the repository default when unset
+ * @param reloadInterval - Delay between reloads of the snapshot
+ */
+@ConfigurationProperties(prefix = "configserver.snapshot")
+public record SnapshotProperties(boolean enabled, @DefaultValue({ "accounts", "cards", "loans" }) List<String> applications,
+        @DefaultValue({ "default", "qa", "prod" }) List<String> profiles, String label,
+        @DefaultValue("30s") Duration reloadInterval) {
+
+}
@@ -0,0 +1,74 @@
+package com.udemy.configserver.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "configserver.snapshot.enabled=true")
+@ActiveProfiles("native")
+class EnvironmentSnapshotTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void snapshotIsServedDecryptedWithAnEtag() {
+        ResponseEntity<String> response = get("/config/accounts/qa", null);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertNotNull(response.getHeaders().getETag()),
+                () -> assertFalse(response.getBody().contains("{cipher}")));
+    }
+
+    @Test
+    void unchangedEnvironmentIsNotModified() {
+        String etag = get("/config/cards/prod", null).getHeaders().getETag();
+
+        ResponseEntity<String> response = get("/config/cards/prod", etag);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode()),
+                () -> assertNull(response.getBody()),
+                () -> assertNotNull(meterRegistry.find("configserver.environment")
+                        .tags("application", "cards", "profile", "prod",
+                                "outcome", EnvironmentSnapshotFilter.OUTCOME_NOT_MODIFIED)
+                        .timer()));
+    }
+
+    @Test
+    void environmentsOutsideTheSnapshotGoToTheServer() {
+        ResponseEntity<String> response = get("/config/loans/qa,prod", null);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, response.getStatusCode()),
+                () -> assertNull(response.getHeaders().getETag()));
+    }
+
+    private ResponseEntity<String> get(String path, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.udemy.configsnapshot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The properties a service last received from the config server, with the
+ * application and profiles they were resolved for and the server's ETag if
+ * it sent one.
+ * <p>
+ * Stored as a properties file, replaced atomically so a crash while writing
+ * never leaves a torn file behind. The values are decrypted, so the file is
+ * only readable by its owner where the file system allows it.
+ */
+public record ConfigSnapshot(String application, String profiles, String etag, Map<String, String> properties) {
+
+    private static final String APPLICATION = "snapshot.application";
+    private static final String PROFILES = "snapshot.profiles";
+    private static final String ETAG = "snapshot.etag";
+    private static final String PROPERTY_PREFIX = "property.";
+
+    /**
+     * @return the snapshot in the file, or null when there is none
+     */
+    public static ConfigSnapshot read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties stored = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            stored.load(reader);
+        }
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String name : stored.stringPropertyNames()) {
+            if (name.startsWith(PROPERTY_PREFIX)) {
+                properties.put(name.substring(PROPERTY_PREFIX.length()), stored.getProperty(name));
+            }
+        }
+        return new ConfigSnapshot(stored.getProperty(APPLICATION), stored.getProperty(PROFILES),
+                stored.getProperty(ETAG), Map.copyOf(properties));
+    }
+
+    public void write(Path file) throws IOException {
+        Properties stored = new Properties();
+        stored.setProperty(APPLICATION, application);
+        stored.setProperty(PROFILES, profiles);
+        if (etag != null) {
+            stored.setProperty(ETAG, etag);
+        }
+        properties.forEach((name, value) -> stored.setProperty(PROPERTY_PREFIX + name, value));
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            }
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                stored.store(writer, "Last config received from the config server, do not edit");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return true when the snapshot was taken for this application and
+     *         these profiles
+     */
+    public boolean matches(String application, String profiles) {
+        return application.equals(this.application) && profiles.equals(this.profiles);
+    }
+}
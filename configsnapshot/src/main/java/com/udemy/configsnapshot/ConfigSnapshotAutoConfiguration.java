@@ -0,0 +1,25 @@
+package com.udemy.configsnapshot;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+@AutoConfiguration
+@EnableConfigurationProperties(ConfigSnapshotProperties.class)
+// off unless asked for, the file holds the decrypted config
+@ConditionalOnProperty(prefix = "configsnapshot", name = "enabled")
+public class ConfigSnapshotAutoConfiguration {
+
+    @Bean
+    ConfigSnapshotWriter configSnapshotWriter(ConfigurableEnvironment environment,
+            ConfigSnapshotProperties properties) {
+        return new ConfigSnapshotWriter(environment, properties);
+    }
+
+    @Bean
+    ConfigSnapshotReconciler configSnapshotReconciler(ConfigSnapshotProperties properties) {
+        return new ConfigSnapshotReconciler(properties);
+    }
+}
@@ -0,0 +1,73 @@
+package com.udemy.configsnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * When {@code configsnapshot.enabled} is set, puts the snapshot file in the
+ * environment before the config data is
+ * loaded, and turns the config client off so startup does not wait on the
+ * config server. Only command line arguments, system properties and
+ * environment variables are known this early, so {@code configsnapshot.file}
+ * and {@code configsnapshot.enabled} can only be changed there.
+ * A config server import that is not optional, as in the Docker Compose
+ * setup, means the config server is required, and the snapshot is not used.
+ * {@link ConfigSnapshotValidationPostProcessor} checks the snapshot against
+ * the application's own configuration once that is loaded.
+ */
+public class ConfigSnapshotEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String ENABLED_PROPERTY = "configsnapshot.enabled";
+    static final String FILE_PROPERTY = "configsnapshot.file";
+    static final String DEFAULT_FILE = "config-snapshot.properties";
+    private static final String CONFIG_SERVER_IMPORT = "configserver:";
+
+    private final Log log;
+
+    public ConfigSnapshotEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ConfigSnapshotEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty(ENABLED_PROPERTY, Boolean.class, false) || requiresConfigServer(environment)) {
+            return;
+        }
+        Path file = Path.of(environment.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+        ConfigSnapshot snapshot;
+        try {
+            snapshot = ConfigSnapshot.read(file);
+        } catch (IOException | IllegalArgumentException ex) {
+            log.warn("Ignoring unreadable config snapshot " + file.toAbsolutePath(), ex);
+            return;
+        }
+        if (snapshot != null) {
+            // the config data loaded next is appended, so the snapshot takes precedence over it like the config server's
+            environment.getPropertySources().addLast(new SnapshotPropertySource(snapshot));
+        }
+    }
+
+    private static boolean requiresConfigServer(ConfigurableEnvironment environment) {
+        return Binder.get(environment)
+                .bind("spring.config.import", Bindable.listOf(String.class))
+                .orElse(List.of())
+                .stream()
+                .anyMatch(location -> location.strip().startsWith(CONFIG_SERVER_IMPORT));
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER - 1;
+    }
+}
@@ -0,0 +1,23 @@
+package com.udemy.configsnapshot;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled       - Start from the snapshot file when there is one and
+ *                      keep it up to date, off by default as the file holds
+ *                      the decrypted config
+ * @param file          - Where the snapshot is kept
+ * @param retryInterval - Delay before asking the config server again after
+ *                      it could not be reached
+ * @param timeout       - How long to wait for the config server in the background
+ */
+@ConfigurationProperties(prefix = "configsnapshot")
+public record ConfigSnapshotProperties(@DefaultValue("false") boolean enabled,
+        @DefaultValue(ConfigSnapshotEnvironmentPostProcessor.DEFAULT_FILE) Path file,
+        @DefaultValue("10s") Duration retryInterval, @DefaultValue("5s") Duration timeout) {
+
+}
@@ -0,0 +1,190 @@
+package com.udemy.configsnapshot;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * After a start from the snapshot, asks the config server for the current
+ * properties in the background, retrying until it answers. Changed
+ * properties replace the snapshot's in the environment and are announced
+ * with an {@link EnvironmentChangeEvent}, and the file is rewritten. The
+ * snapshot's ETag is sent along, so an unchanged environment costs the
+ * config server nothing.
+ */
+public class ConfigSnapshotReconciler implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigSnapshotReconciler.class);
+    private static final String CONFIG_SERVER_IMPORT = "configserver:";
+    private static final String DEFAULT_CONFIG_SERVER_URI = "http://localhost:8888";
+
+    private final ConfigSnapshotProperties properties;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-snapshot-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ConfigSnapshotReconciler(ConfigSnapshotProperties properties) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(properties.timeout()).build();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (event.getApplicationContext().getEnvironment().getPropertySources()
+                .get(SnapshotPropertySource.NAME) instanceof SnapshotPropertySource) {
+            executor.execute(() -> reconcile(event.getApplicationContext()));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void reconcile(ConfigurableApplicationContext context) {
+        long start = System.nanoTime();
+        try {
+            ConfigurableEnvironment environment = context.getEnvironment();
+            if (!(environment.getPropertySources().get(SnapshotPropertySource.NAME)
+                    instanceof SnapshotPropertySource current)) {
+                // replaced by the config server's own properties on a refresh meanwhile
+                return;
+            }
+            ConfigSnapshot snapshot = fetch(environment, current.snapshot());
+            if (snapshot == current.snapshot()) {
+                log.info("Config snapshot is current, checked in {} ms", elapsedMillis(start));
+                return;
+            }
+            SnapshotPropertySource replacement = new SnapshotPropertySource(snapshot);
+            Set<String> changed = changed(current, replacement);
+            environment.getPropertySources().replace(SnapshotPropertySource.NAME, replacement);
+            if (!changed.isEmpty()) {
+                context.publishEvent(new EnvironmentChangeEvent(context, changed));
+            }
+            snapshot.write(properties.file());
+            log.info("Reconciled the config snapshot with the config server in {} ms, {} properties changed",
+                    elapsedMillis(start), changed.size());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Config server not reachable, retrying in {}: {}", properties.retryInterval(), ex.toString());
+            executor.schedule(() -> reconcile(context), properties.retryInterval().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the current snapshot when the config server has nothing newer,
+     *         otherwise a new one
+     */
+    private ConfigSnapshot fetch(ConfigurableEnvironment environment, ConfigSnapshot current)
+            throws IOException, InterruptedException {
+        String application = applicationName(environment);
+        String profiles = profiles(environment);
+        String label = environment.getProperty("spring.cloud.config.label");
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(configServerUri(environment) + "/"
+                        + application + "/" + profiles + (label == null ? "" : "/" + label)))
+                .timeout(properties.timeout())
+                .header("Accept", "application/json");
+        if (current != null && current.etag() != null) {
+            request.header("If-None-Match", current.etag());
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 304) {
+            return current;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Config server answered " + response.statusCode());
+        }
+        Environment fetched = objectMapper.readValue(response.body(), Environment.class);
+        Map<String, String> fetchedProperties = new LinkedHashMap<>();
+        // the first property source wins, as in the config client
+        for (org.springframework.cloud.config.environment.PropertySource source : fetched.getPropertySources()) {
+            source.getSource().forEach((name, value) -> {
+                if (value != null) {
+                    fetchedProperties.putIfAbsent(String.valueOf(name), String.valueOf(value));
+                }
+            });
+        }
+        return new ConfigSnapshot(application, profiles, response.headers().firstValue("ETag").orElse(null),
+                Map.copyOf(fetchedProperties));
+    }
+
+    static String applicationName(org.springframework.core.env.Environment environment) {
+        return environment.getProperty("spring.cloud.config.name",
+                environment.getProperty("spring.application.name", "application"));
+    }
+
+    /**
+     * @return the profiles the config client asks for, the active ones or
+     *         else the default ones
+     */
+    static String profiles(org.springframework.core.env.Environment environment) {
+        String[] profiles = environment.getActiveProfiles().length > 0 ? environment.getActiveProfiles()
+                : environment.getDefaultProfiles();
+        return environment.getProperty("spring.cloud.config.profile", String.join(",", profiles));
+    }
+
+    /**
+     * @return {@code spring.cloud.config.uri}, or else the location of the
+     *         {@code configserver:} import
+     */
+    private static String configServerUri(ConfigurableEnvironment environment) {
+        String uri = environment.getProperty("spring.cloud.config.uri");
+        if (uri != null) {
+            return uri;
+        }
+        List<String> imports = Binder.get(environment)
+                .bind("spring.config.import", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return imports.stream()
+                .filter(location -> location.contains(CONFIG_SERVER_IMPORT))
+                .map(location -> location.substring(location.indexOf(CONFIG_SERVER_IMPORT) + CONFIG_SERVER_IMPORT.length()))
+                .filter(location -> !location.isBlank())
+                .findFirst()
+                .orElse(DEFAULT_CONFIG_SERVER_URI);
+    }
+
+    private static Set<String> changed(PropertySource<Map<String, Object>> before,
+            PropertySource<Map<String, Object>> after) {
+        Set<String> names = new HashSet<>(before.getSource().keySet());
+        names.addAll(after.getSource().keySet());
+        names.removeIf(name -> Objects.equals(before.getSource().get(name), after.getSource().get(name)));
+        return names;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,49 @@
+package com.udemy.configsnapshot;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * Drops a snapshot loaded by {@link ConfigSnapshotEnvironmentPostProcessor}
+ * that was taken for another application or other profiles. It is only
+ * loaded when turned on from outside, which the application's configuration
+ * cannot override, so being turned off is not checked again here.
+ */
+public class ConfigSnapshotValidationPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    private final Log log;
+
+    public ConfigSnapshotValidationPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ConfigSnapshotValidationPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        PropertySource<?> propertySource = environment.getPropertySources().get(SnapshotPropertySource.NAME);
+        if (!(propertySource instanceof SnapshotPropertySource snapshotPropertySource)) {
+            return;
+        }
+        ConfigSnapshot snapshot = snapshotPropertySource.snapshot();
+        String applicationName = ConfigSnapshotReconciler.applicationName(environment);
+        String profiles = ConfigSnapshotReconciler.profiles(environment);
+        if (!snapshot.matches(applicationName, profiles)) {
+            // the config server was skipped already, the reconciler fetches the right properties once started
+            environment.getPropertySources().replace(SnapshotPropertySource.NAME, new SnapshotPropertySource(null));
+            log.warn("Ignoring config snapshot of " + snapshot.application() + " [" + snapshot.profiles()
+                    + "], started as " + applicationName + " [" + profiles + "]");
+        } else {
+            log.info("Started from the config snapshot of " + applicationName + " [" + profiles + "]");
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
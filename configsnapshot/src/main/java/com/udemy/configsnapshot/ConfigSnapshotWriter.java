@@ -0,0 +1,62 @@
+package com.udemy.configsnapshot;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * Writes the properties received from the config server to the snapshot
+ * file once the application is ready, and again after every refresh.
+ */
+public class ConfigSnapshotWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigSnapshotWriter.class);
+    // the config client names its property sources after the config server
+    private static final String CONFIG_SERVER_SOURCE_PREFIX = "configserver:";
+
+    private final ConfigurableEnvironment environment;
+    private final ConfigSnapshotProperties properties;
+
+    public ConfigSnapshotWriter(ConfigurableEnvironment environment, ConfigSnapshotProperties properties) {
+        this.environment = environment;
+        this.properties = properties;
+    }
+
+    @EventListener({ ApplicationReadyEvent.class, EnvironmentChangeEvent.class })
+    public synchronized void write() {
+        Map<String, String> fetched = new LinkedHashMap<>();
+        for (PropertySource<?> source : environment.getPropertySources()) {
+            if (source.getName().startsWith(CONFIG_SERVER_SOURCE_PREFIX)
+                    && source instanceof EnumerablePropertySource<?> enumerable) {
+                for (String name : enumerable.getPropertyNames()) {
+                    Object value = enumerable.getProperty(name);
+                    if (value != null) {
+                        fetched.putIfAbsent(name, String.valueOf(value));
+                    }
+                }
+            }
+        }
+        // started from the snapshot and not refreshed since, the reconciler keeps the file up to date
+        if (fetched.isEmpty()) {
+            return;
+        }
+        // a refresh brought the config server's properties back, they take over from the snapshot
+        environment.getPropertySources().remove(SnapshotPropertySource.NAME);
+        try {
+            new ConfigSnapshot(ConfigSnapshotReconciler.applicationName(environment),
+                    ConfigSnapshotReconciler.profiles(environment), null, Map.copyOf(fetched))
+                    .write(properties.file());
+        } catch (IOException ex) {
+            log.warn("Could not write the config snapshot {}", properties.file().toAbsolutePath(), ex);
+        }
+    }
+}
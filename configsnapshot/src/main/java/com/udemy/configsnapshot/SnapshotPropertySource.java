@@ -0,0 +1,41 @@
+package com.udemy.configsnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * The snapshot's properties in the environment, in place of the config
+ * server's, until the config server has been asked again.
+ */
+class SnapshotPropertySource extends MapPropertySource {
+
+    static final String NAME = "configSnapshot";
+    // keeps the config client from fetching during startup, the reconciler asks in the background
+    static final String CONFIG_CLIENT_ENABLED = "spring.cloud.config.enabled";
+
+    private final ConfigSnapshot snapshot;
+
+    /**
+     * @param snapshot - The snapshot to serve, or null to only hold the
+     *                 config client back when the file could not be used
+     */
+    SnapshotPropertySource(ConfigSnapshot snapshot) {
+        super(NAME, properties(snapshot));
+        this.snapshot = snapshot;
+    }
+
+    ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    private static Map<String, Object> properties(ConfigSnapshot snapshot) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (snapshot != null) {
+            properties.putAll(snapshot.properties());
+        }
+        properties.put(CONFIG_CLIENT_ENABLED, "false");
+        return properties;
+    }
+}
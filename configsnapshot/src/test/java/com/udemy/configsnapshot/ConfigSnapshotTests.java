@@ -0,0 +1,114 @@
+package com.udemy.configsnapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+class ConfigSnapshotTests {
+
+    private static final DeferredLogFactory LOG_FACTORY = destination -> destination.get();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenSnapshotReadsBack() throws IOException {
+        Path file = directory.resolve("snapshots/accounts.properties");
+        ConfigSnapshot snapshot = new ConfigSnapshot("accounts", "qa", "\"abc\"",
+                Map.of("accounts.message", "Welcome to EazyBank = qa", "accounts.onCallSupport[0]", "(555) 555-1234"));
+
+        snapshot.write(file);
+
+        assertEquals(snapshot, ConfigSnapshot.read(file));
+        try (var files = Files.list(file.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void missingSnapshotLeavesTheConfigClientOn() {
+        StandardEnvironment environment = environment(directory.resolve("none.properties"), "accounts", "qa");
+
+        postProcess(environment);
+
+        assertNull(environment.getProperty("spring.cloud.config.enabled"));
+    }
+
+    @Test
+    void snapshotIsUsedInsteadOfTheConfigServer() throws IOException {
+        Path file = directory.resolve("config-snapshot.properties");
+        new ConfigSnapshot("accounts", "qa", null, Map.of("accounts.message", "from the snapshot")).write(file);
+        StandardEnvironment environment = environment(file, "accounts", "qa");
+
+        postProcess(environment);
+
+        assertEquals("from the snapshot", environment.getProperty("accounts.message"));
+        assertEquals("false", environment.getProperty("spring.cloud.config.enabled"));
+    }
+
+    @Test
+    void snapshotIsOffUnlessEnabled() throws IOException {
+        Path file = directory.resolve("config-snapshot.properties");
+        new ConfigSnapshot("accounts", "qa", null, Map.of("accounts.message", "from the snapshot")).write(file);
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+                Map.of("configsnapshot.file", file.toString(), "spring.application.name", "accounts")));
+        environment.setActiveProfiles("qa");
+
+        postProcess(environment);
+
+        assertNull(environment.getProperty("accounts.message"));
+        assertNull(environment.getProperty("spring.cloud.config.enabled"));
+    }
+
+    @Test
+    void snapshotOfOtherProfilesIsIgnored() throws IOException {
+        Path file = directory.resolve("config-snapshot.properties");
+        new ConfigSnapshot("accounts", "qa", null, Map.of("accounts.message", "from the snapshot")).write(file);
+        StandardEnvironment environment = environment(file, "accounts", "prod");
+
+        postProcess(environment);
+
+        assertNull(environment.getProperty("accounts.message"));
+        // the config server was skipped already, the reconciler asks it once started
+        assertEquals("false", environment.getProperty("spring.cloud.config.enabled"));
+    }
+
+    @Test
+    void requiredConfigServerIsNotSkipped() throws IOException {
+        Path file = directory.resolve("config-snapshot.properties");
+        new ConfigSnapshot("accounts", "qa", null, Map.of("accounts.message", "from the snapshot")).write(file);
+        StandardEnvironment environment = environment(file, "accounts", "qa");
+        environment.getPropertySources().addFirst(new MapPropertySource("docker",
+                Map.of("spring.config.import", "configserver:http://configserver:8071/config")));
+
+        postProcess(environment);
+
+        assertNull(environment.getProperty("accounts.message"));
+        assertNull(environment.getProperty("spring.cloud.config.enabled"));
+    }
+
+    private static StandardEnvironment environment(Path file, String application, String profile) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+                Map.of("configsnapshot.enabled", "true", "configsnapshot.file", file.toString(),
+                        "spring.application.name", application)));
+        environment.setActiveProfiles(profile);
+        return environment;
+    }
+
+    private static void postProcess(StandardEnvironment environment) {
+        new ConfigSnapshotEnvironmentPostProcessor(LOG_FACTORY).postProcessEnvironment(environment, null);
+        new ConfigSnapshotValidationPostProcessor(LOG_FACTORY).postProcessEnvironment(environment, null);
+    }
+}
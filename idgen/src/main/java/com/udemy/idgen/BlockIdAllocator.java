@@ -0,0 +1,112 @@
+package com.udemy.idgen;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out unique numbers from {@code [firstId, lastId]} without a round trip
+ * per number and without a shared hot spot between threads.
+ * <p>
+ * Instances reserve whole blocks of {@code blockSize} numbers from a shared
+ * block source (normally a database sequence), so two instances never hand out
+ * the same number. Each block is then split into buffers of
+ * {@code bufferSize} numbers that are owned by a stripe of threads, so callers
+ * only contend when a buffer runs dry. Numbers are increasing within a buffer
+ * but not globally, and numbers left in a buffer at shutdown are skipped.
+ */
+public class BlockIdAllocator {
+
+    private final LongSupplier blockSource;
+    private final long firstId;
+    private final long lastId;
+    private final int blockSize;
+    private final int bufferSize;
+    private final Buffer[] buffers;
+    private final int mask;
+
+    private final ReentrantLock blockLock = new ReentrantLock();
+    private long blockNext;
+    private long blockLimit;
+
+    /**
+     * @param blockSource - Supplies block indexes, each index must be handed out once (starting at 0)
+     * @param firstId     - Smallest number to allocate
+     * @param lastId      - Largest number to allocate
+     * @param blockSize   - Numbers reserved from the block source at a time
+     * @param bufferSize  - Numbers handed to a thread stripe at a time, must divide blockSize
+     */
+    public BlockIdAllocator(LongSupplier blockSource, long firstId, long lastId, int blockSize, int bufferSize) {
+        if (firstId > lastId) {
+            throw new IllegalArgumentException("firstId must not be greater than lastId");
+        }
+        if (bufferSize <= 0 || blockSize <= 0 || blockSize % bufferSize != 0) {
+            throw new IllegalArgumentException("blockSize must be a positive multiple of bufferSize");
+        }
+        this.blockSource = blockSource;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.blockSize = blockSize;
+        this.bufferSize = bufferSize;
+
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.buffers = new Buffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            buffers[i] = new Buffer();
+        }
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * @return a number that has not been returned before by any allocator sharing the block source
+     * @throws IllegalStateException when the range is exhausted
+     */
+    public long nextId() {
+        Buffer buffer = buffers[stripe()];
+        buffer.lock.lock();
+        try {
+            if (buffer.next == buffer.limit) {
+                buffer.next = reserveBuffer();
+                buffer.limit = buffer.next + bufferSize;
+            }
+            long id = buffer.next++;
+            if (id > lastId) {
+                throw new IllegalStateException("ID range exhausted, last id is " + lastId);
+            }
+            return id;
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    private long reserveBuffer() {
+        blockLock.lock();
+        try {
+            if (blockNext == blockLimit) {
+                long blockIndex = blockSource.getAsLong();
+                if (blockIndex < 0 || blockIndex > (lastId - firstId) / blockSize) {
+                    throw new IllegalStateException("ID range exhausted, last id is " + lastId);
+                }
+                blockNext = firstId + blockIndex * blockSize;
+                blockLimit = blockNext + blockSize;
+            }
+            long start = blockNext;
+            blockNext += bufferSize;
+            return start;
+        } finally {
+            blockLock.unlock();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private int stripe() {
+        // Thread#getId is deprecated from 19 onwards but is the only option on 17
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static final class Buffer {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long limit;
+    }
+}
@@ -0,0 +1,65 @@
+package com.udemy.idgen;
+
+/**
+ * Builds card numbers that pass the Luhn (mod 10) check.
+ */
+public final class LuhnCardNumbers {
+
+    private LuhnCardNumbers() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param issuerPrefix - Leading digits identifying the issuer
+     * @param serial       - Unique account serial, zero padded into the middle of the number
+     * @param length       - Total number of digits including the check digit
+     * @return the card number
+     */
+    public static String cardNumber(String issuerPrefix, long serial, int length) {
+        int serialDigits = length - issuerPrefix.length() - 1;
+        if (serial < 0 || serialDigits <= 0 || Long.toString(serial).length() > serialDigits) {
+            throw new IllegalArgumentException("Serial " + serial + " does not fit in a " + length
+                    + " digit card number with prefix " + issuerPrefix);
+        }
+        StringBuilder number = new StringBuilder(length).append(issuerPrefix);
+        String digits = Long.toString(serial);
+        for (int i = digits.length(); i < serialDigits; i++) {
+            number.append('0');
+        }
+        number.append(digits);
+        return number.append(checkDigit(number)).toString();
+    }
+
+    /**
+     * @param payload - Digits without the check digit
+     * @return the digit that makes the payload Luhn valid
+     */
+    public static int checkDigit(CharSequence payload) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int digit = payload.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    public static boolean isValid(CharSequence number) {
+        if (number == null || number.length() < 2) {
+            return false;
+        }
+        for (int i = 0; i < number.length(); i++) {
+            if (!Character.isDigit(number.charAt(i))) {
+                return false;
+            }
+        }
+        return checkDigit(number.subSequence(0, number.length() - 1)) == number.charAt(number.length() - 1) - '0';
+    }
+}
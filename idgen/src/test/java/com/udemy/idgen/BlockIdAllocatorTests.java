@@ -0,0 +1,61 @@
+package com.udemy.idgen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class BlockIdAllocatorTests {
+
+    @Test
+    void allocatorsSharingABlockSourceNeverCollide() throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        BlockIdAllocator first = new BlockIdAllocator(sequence::getAndIncrement, 1_000L, 10_000_000L, 1_000, 50);
+        BlockIdAllocator second = new BlockIdAllocator(sequence::getAndIncrement, 1_000L, 10_000_000L, 1_000, 50);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int t = 0; t < 16; t++) {
+            BlockIdAllocator allocator = t % 2 == 0 ? first : second;
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    assertTrue(ids.add(allocator.nextId()));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(160_000, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id >= 1_000L && id <= 10_000_000L));
+    }
+
+    @Test
+    void failsOnceTheRangeIsExhausted() {
+        AtomicLong sequence = new AtomicLong();
+        BlockIdAllocator allocator = new BlockIdAllocator(sequence::getAndIncrement, 1L, 20L, 10, 5);
+        for (int i = 0; i < 20; i++) {
+            allocator.nextId();
+        }
+        assertThrows(IllegalStateException.class, allocator::nextId);
+    }
+
+    @Test
+    void cardNumbersAreLuhnValid() {
+        String cardNumber = LuhnCardNumbers.cardNumber("4", 1234L, 16);
+        assertEquals(16, cardNumber.length());
+        assertTrue(cardNumber.startsWith("400000000001234"));
+        assertTrue(LuhnCardNumbers.isValid(cardNumber));
+        assertTrue(LuhnCardNumbers.isValid("4539578763621486"));
+        assertFalse(LuhnCardNumbers.isValid("4539578763621487"));
+    }
+}
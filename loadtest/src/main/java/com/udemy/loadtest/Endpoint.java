@@ -0,0 +1,81 @@
+package com.udemy.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * The calls a workload is mixed from, keyed by the name used in --mix.
+ */
+enum Endpoint {
+
+    CREATE_ACCOUNT("create", "POST /api/create") {
+        @Override
+        HttpRequest request(Targets targets, String mobileNumber) {
+            return json(targets.accounts().resolve("/api/create"))
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"name\":\"Load Test\",\"email\":\"loadtest@eazybank.com\",\"mobileNumber\":\"%s\"}",
+                            mobileNumber)))
+                    .build();
+        }
+    },
+    FETCH_ACCOUNT("fetch", "GET /api/fetch/{mobileNumber}") {
+        @Override
+        HttpRequest request(Targets targets, String mobileNumber) {
+            return json(targets.accounts().resolve("/api/fetch/" + mobileNumber)).GET().build();
+        }
+    },
+    FETCH_CARD("cards", "GET /cards/{mobileNumber}") {
+        @Override
+        HttpRequest request(Targets targets, String mobileNumber) {
+            return json(targets.cards().resolve("/cards/" + mobileNumber)).GET().build();
+        }
+    },
+    FETCH_LOAN("loans", "GET /loans/{mobileNumber}") {
+        @Override
+        HttpRequest request(Targets targets, String mobileNumber) {
+            return json(targets.loans().resolve("/loans/" + mobileNumber)).GET().build();
+        }
+    };
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String key;
+    private final String description;
+
+    Endpoint(String key, String description) {
+        this.key = key;
+        this.description = description;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String description() {
+        return description;
+    }
+
+    /** True when the call needs a mobile number nobody has used yet. */
+    boolean createsCustomer() {
+        return this == CREATE_ACCOUNT;
+    }
+
+    abstract HttpRequest request(Targets targets, String mobileNumber);
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in --mix: " + key);
+    }
+
+    static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+}
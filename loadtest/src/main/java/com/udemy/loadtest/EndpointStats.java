@@ -0,0 +1,49 @@
+package com.udemy.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and failures of one endpoint during the measured part of a run.
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * @param latencyNanos - Time from the scheduled start of the request, not
+     *                     from when it was actually sent, so that a backed up
+     *                     generator does not hide queueing in the service
+     */
+    void record(long latencyNanos, boolean failed) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    EndpointReport report(Endpoint endpoint, double seconds) {
+        long requests = latencies.getTotalCount();
+        return new EndpointReport(endpoint.key(), endpoint.description(), requests, errors.sum(),
+                requests / seconds, millis(latencies.getMean()), millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(double micros) {
+        return micros / 1_000.0;
+    }
+
+    /**
+     * Result of one endpoint, latencies in milliseconds.
+     */
+    record EndpointReport(String endpoint, String request, long requests, long errors, double throughput,
+            double meanMs, double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+}
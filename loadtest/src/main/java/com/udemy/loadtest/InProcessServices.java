@@ -0,0 +1,133 @@
+package com.udemy.loadtest;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import com.udemy.accounts.AccountsApplication;
+import com.udemy.cards.CardsApplication;
+import com.udemy.loans.LoansApplication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Starts the services that have no external URL in this JVM, each on a random
+ * port with its own in-memory H2 database.
+ */
+final class InProcessServices implements AutoCloseable {
+
+    private static final String R2DBC_AUTO_CONFIGURATION = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration";
+    private static final String JPA_AUTO_CONFIGURATION = "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration";
+    private static final String REACTIVE_LOAN_SERVICE = "com.udemy.loans.service.Impl.ReactiveLoanServiceImpl";
+    // recorded by the services' VirtualThreadPinningMonitor
+    private static final String PINNED_TIMER = "jvm.threads.virtual.pinned";
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final Targets targets;
+
+    InProcessServices(LoadTestOptions options) {
+        URI cards = options.cardsUrl() != null ? options.cardsUrl()
+                : start(CardsApplication.class, "cards", options, false);
+        URI loans = options.loansUrl() != null ? options.loansUrl()
+                : start(LoansApplication.class, "loans", options, options.reactiveLoans(),
+                        "--spring.cache.cache-names=schedules", "--spring.cache.caffeine.spec=maximumSize=500,recordStats");
+        // accounts goes last so its customer details calls reach the services above
+        URI accounts = options.accountsUrl() != null ? options.accountsUrl()
+                : start(AccountsApplication.class, "accounts", options, false,
+                        "--downstream.cards.base-url=" + cards, "--downstream.loans.base-url=" + loans,
+                        "--spring.cache.cache-names=customers",
+                        "--spring.cache.caffeine.spec=maximumSize=10000,expireAfterWrite=10m,recordStats");
+        targets = new Targets(accounts, cards, loans);
+    }
+
+    Targets targets() {
+        return targets;
+    }
+
+    /**
+     * @return per in-process service, how many times a virtual thread stayed
+     *         pinned to its carrier longer than the monitor's threshold
+     */
+    Map<String, Long> pinnedEvents() {
+        Map<String, Long> pinned = new LinkedHashMap<>();
+        for (ConfigurableApplicationContext context : contexts) {
+            long count = context.getBeanProvider(MeterRegistry.class).stream()
+                    .flatMap(registry -> registry.find(PINNED_TIMER).timers().stream())
+                    .mapToLong(Timer::count)
+                    .sum();
+            pinned.put(context.getEnvironment().getProperty("spring.application.name"), count);
+        }
+        return pinned;
+    }
+
+    private URI start(Class<?> application, String name, LoadTestOptions options, boolean reactive,
+            String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                // every service jar ships an application.yml, load none of them
+                "--spring.config.name=loadtest",
+                "--spring.application.name=" + name,
+                "--server.port=0",
+                "--build.version=loadtest",
+                "--spring.cloud.bus.enabled=false",
+                // the three services share a working directory, and every run starts from the config server
+                "--configsnapshot.enabled=false",
+                // schema.sql of all three jars, they only create what does not exist yet
+                "--spring.sql.init.schema-locations=classpath*:schema.sql",
+                "--spring.jmx.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        if (options.configServer() != null) {
+            args.add("--spring.config.import=optional:configserver:" + options.configServer());
+        } else {
+            args.add("--spring.cloud.config.enabled=false");
+        }
+        if (reactive) {
+            if (!ClassUtils.isPresent(REACTIVE_LOAN_SERVICE, null)) {
+                throw new IllegalStateException("--reactive-loans needs loans installed and the load test run with -Preactive");
+            }
+            args.add("--spring.profiles.active=reactive");
+            args.add("--spring.main.web-application-type=reactive");
+            args.add("--spring.autoconfigure.exclude=" + JPA_AUTO_CONFIGURATION);
+            args.add("--spring.r2dbc.url=r2dbc:h2:mem:///" + name + "?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+            args.add("--spring.r2dbc.username=sa");
+            args.add("--spring.sql.init.mode=always");
+        } else {
+            if (options.virtualThreads()) {
+                if (Runtime.version().feature() < 21) {
+                    throw new IllegalStateException("--virtual-threads needs the load test run on Java 21");
+                }
+                args.add("--spring.threads.virtual.enabled=true");
+            }
+            args.add("--spring.autoconfigure.exclude=" + R2DBC_AUTO_CONFIGURATION);
+            args.add("--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+            args.add("--spring.datasource.username=sa");
+            args.add("--spring.jpa.hibernate.ddl-auto=update");
+            args.add("--spring.jpa.properties.hibernate.jdbc.batch_size=50");
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+        contexts.add(context);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port);
+    }
+
+    @Override
+    public void close() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+}
@@ -0,0 +1,82 @@
+package com.udemy.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.udemy.loadtest.EndpointStats.EndpointReport;
+
+/**
+ * Drives accounts, cards and loans with an open workload and reports
+ * throughput and latency percentiles per endpoint. Services without a
+ * --*-url option are started in this JVM.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+        // restrict instantiation
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (InProcessServices services = new InProcessServices(options)) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Workload workload = new Workload(client, services.targets(), options);
+            workload.seed();
+
+            Instant startedAt = Instant.now();
+            long dropped = workload.run();
+
+            double seconds = options.duration().toMillis() / 1_000.0;
+            List<EndpointReport> endpoints = workload.stats().entrySet().stream()
+                    .map(entry -> entry.getValue().report(entry.getKey(), seconds))
+                    .toList();
+            Report report = new Report(startedAt.toString(), services.targets(), options.rate(),
+                    options.warmup().toSeconds(), options.duration().toSeconds(), options.mix().toString(),
+                    options.reactiveLoans(), options.virtualThreads(), dropped, services.pinnedEvents(), endpoints);
+            print(report);
+            write(report, options);
+        }
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%nTarget rate %.0f req/s, %d s measured, %d dropped%n", report.targetRate(),
+                report.durationSeconds(), report.dropped());
+        System.out.printf("%-32s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointReport endpoint : report.endpoints()) {
+            System.out.printf("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.request(),
+                    endpoint.requests(), endpoint.errors(), endpoint.throughput(), endpoint.p50Ms(),
+                    endpoint.p99Ms(), endpoint.p999Ms(), endpoint.maxMs());
+        }
+        if (report.virtualThreads()) {
+            System.out.printf("Virtual threads pinned over the threshold: %s%n", report.pinnedEvents());
+        }
+    }
+
+    private static void write(Report report, LoadTestOptions options) throws IOException {
+        if (options.result().getParent() != null) {
+            Files.createDirectories(options.result().getParent());
+        }
+        Jackson2ObjectMapperBuilder.json().indentOutput(true).build()
+                .writeValue(options.result().toFile(), report);
+        System.out.println("Results written to " + options.result().toAbsolutePath());
+    }
+
+    /**
+     * Content of the result file, kept flat so runs can be diffed.
+     */
+    record Report(String startedAt, Targets targets, double targetRate, long warmupSeconds, long durationSeconds,
+            String mix, boolean reactiveLoans, boolean virtualThreads, long dropped, Map<String, Long> pinnedEvents,
+            List<EndpointReport> endpoints) {
+    }
+}
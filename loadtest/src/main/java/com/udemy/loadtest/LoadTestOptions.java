@@ -0,0 +1,85 @@
+package com.udemy.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, all given as --name=value.
+ *
+ * @param rate           - Mean arrival rate in requests per second, independent of response times
+ * @param warmup         - Load applied before measuring starts
+ * @param duration       - Measured load after the warmup
+ * @param mix            - Relative weight of each endpoint
+ * @param accountsUrl    - Existing accounts instance to target, null to start one in-process
+ * @param cardsUrl       - Existing cards instance to target, null to start one in-process
+ * @param loansUrl       - Existing loans instance to target, null to start one in-process
+ * @param configServer   - Config server for the in-process services, null to run them without
+ * @param reactiveLoans  - Start the in-process loans service with the "reactive" profile
+ * @param virtualThreads - Serve the in-process servlet services on virtual threads, needs a Java 21 runtime
+ * @param customers      - Customers with a card and a loan seeded before the run
+ * @param maxInFlight    - Requests beyond this many outstanding ones are dropped and counted
+ * @param seed           - Random seed for arrivals and the endpoint mix
+ * @param result         - Machine-readable result file
+ */
+record LoadTestOptions(double rate, Duration warmup, Duration duration, Map<Endpoint, Integer> mix,
+        URI accountsUrl, URI cardsUrl, URI loansUrl, String configServer, boolean reactiveLoans,
+        boolean virtualThreads, int customers, int maxInFlight, long seed, Path result) {
+
+    private static final Set<String> NAMES = Set.of("rate", "warmup", "duration", "mix", "accounts-url",
+            "cards-url", "loans-url", "config-server", "reactive-loans", "virtual-threads", "customers",
+            "max-in-flight", "seed", "result");
+
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !NAMES.contains(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value with name in "
+                        + NAMES);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                parseMix(values.getOrDefault("mix", "create:1,fetch:4,cards:3,loans:2")),
+                uri(values.get("accounts-url")),
+                uri(values.get("cards-url")),
+                uri(values.get("loans-url")),
+                values.get("config-server"),
+                Boolean.parseBoolean(values.getOrDefault("reactive-loans", "false")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Integer.parseInt(values.getOrDefault("customers", "1000")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "5000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("result", "target/loadtest-result.json")));
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.split(":");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in --mix, got " + entry);
+            }
+            int weight = Integer.parseInt(keyAndWeight[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.fromKey(keyAndWeight[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no endpoint with a positive weight");
+        }
+        return weights;
+    }
+
+    private static URI uri(String value) {
+        return value == null ? null : URI.create(value);
+    }
+}
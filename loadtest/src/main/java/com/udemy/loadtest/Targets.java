@@ -0,0 +1,9 @@
+package com.udemy.loadtest;
+
+import java.net.URI;
+
+/**
+ * Base URLs of the services under test.
+ */
+record Targets(URI accounts, URI cards, URI loans) {
+}
@@ -0,0 +1,147 @@
+package com.udemy.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open workload model: requests arrive as a Poisson process at the configured
+ * rate whether or not earlier ones have completed, the way independent users
+ * hit the services in production. A closed loop of N clients would slow down
+ * with the services and understate their latency under load.
+ */
+final class Workload {
+
+    static final long FIRST_SEEDED_MOBILE_NUMBER = 7_000_000_000L;
+    private static final long FIRST_CREATED_MOBILE_NUMBER = 8_000_000_000L;
+
+    private final HttpClient client;
+    private final Targets targets;
+    private final LoadTestOptions options;
+    private final Random random;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final AtomicLong nextMobileNumber;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    Workload(HttpClient client, Targets targets, LoadTestOptions options) {
+        this.client = client;
+        this.targets = targets;
+        this.options = options;
+        this.random = new Random(options.seed());
+        this.endpoints = options.mix().keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += options.mix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+            stats.put(endpoints[i], new EndpointStats());
+        }
+        // new customers must not collide with earlier runs against the same external services
+        this.nextMobileNumber = new AtomicLong(FIRST_CREATED_MOBILE_NUMBER
+                + Math.floorMod(System.currentTimeMillis(), 1_000_000L) * 1_000L);
+    }
+
+    /**
+     * Creates every seeded customer with a card and a loan, so the fetch
+     * endpoints always hit existing rows. Already existing ones are kept.
+     */
+    void seed() {
+        for (int i = 0; i < options.customers(); i++) {
+            String mobileNumber = seededMobileNumber(i);
+            send(Endpoint.CREATE_ACCOUNT.request(targets, mobileNumber));
+            send(Endpoint.json(targets.cards().resolve("/cards/" + mobileNumber))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build());
+            send(Endpoint.json(targets.loans().resolve("/loans/" + mobileNumber))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build());
+        }
+    }
+
+    /**
+     * Applies the warmup and then the measured load, and waits for the
+     * outstanding requests to finish.
+     *
+     * @return requests that were not sent because max-in-flight was reached
+     */
+    long run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+
+        long scheduled = start;
+        while (scheduled < end) {
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            issue(nextEndpoint(), scheduled, scheduled >= measureFrom);
+            scheduled += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        long drainDeadline = System.nanoTime() + Endpoint.REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return dropped.sum();
+    }
+
+    Map<Endpoint, EndpointStats> stats() {
+        return stats;
+    }
+
+    private void issue(Endpoint endpoint, long scheduled, boolean measured) {
+        if (inFlight.incrementAndGet() > options.maxInFlight()) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                dropped.increment();
+            }
+            return;
+        }
+        String mobileNumber = endpoint.createsCustomer() ? Long.toString(nextMobileNumber.getAndIncrement())
+                : seededMobileNumber(random.nextInt(options.customers()));
+        client.sendAsync(endpoint.request(targets, mobileNumber), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (measured) {
+                        boolean failed = error != null || response.statusCode() >= 300;
+                        stats.get(endpoint).record(System.nanoTime() - scheduled, failed);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private Endpoint nextEndpoint() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Weight " + pick + " outside of the mix");
+    }
+
+    private void send(HttpRequest request) {
+        try {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding", ex);
+        } catch (java.io.IOException ex) {
+            throw new IllegalStateException("Seeding failed for " + request.uri(), ex);
+        }
+    }
+
+    static String seededMobileNumber(int index) {
+        return Long.toString(FIRST_SEEDED_MOBILE_NUMBER + index);
+    }
+}
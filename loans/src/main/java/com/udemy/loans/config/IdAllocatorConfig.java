@@ -0,0 +1,28 @@
+package com.udemy.loans.config;
+
+import java.util.function.LongSupplier;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.udemy.idgen.BlockIdAllocator;
+import com.udemy.loans.constants.LoansConstants;
+
+@Configuration
+public class IdAllocatorConfig {
+
+    static final String NEXT_BLOCK_SQL = "SELECT NEXT VALUE FOR loan_number_block_seq";
+
+    @Bean
+    @Profile("!reactive")
+    BlockIdAllocator loanNumberAllocator(JdbcTemplate jdbcTemplate) {
+        return allocator(() -> jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class));
+    }
+
+    static BlockIdAllocator allocator(LongSupplier blockSource) {
+        return new BlockIdAllocator(blockSource, LoansConstants.FIRST_LOAN_NUMBER, LoansConstants.LAST_LOAN_NUMBER,
+                LoansConstants.LOAN_NUMBER_BLOCK_SIZE, LoansConstants.LOAN_NUMBER_BUFFER_SIZE);
+    }
+}
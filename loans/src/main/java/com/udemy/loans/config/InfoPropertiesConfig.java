@@ -0,0 +1,21 @@
+package com.udemy.loans.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.udemy.common.refresh.RefreshableProperties;
+import com.udemy.loans.dto.LoansInfoDto;
+
+/**
+ * The "loans" properties served by the info endpoint, bound again only when a
+ * refresh changes one of them.
+ */
+@Configuration
+public class InfoPropertiesConfig {
+
+    @Bean
+    RefreshableProperties<LoansInfoDto> loansInfo(Environment environment) {
+        return new RefreshableProperties<>(environment, "loans", LoansInfoDto.class);
+    }
+}
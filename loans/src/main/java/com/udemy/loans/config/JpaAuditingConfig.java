@@ -0,0 +1,19 @@
+package com.udemy.loans.config;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+@Configuration
+@Profile("!reactive")
+@EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
+// built with -Preactive the R2DBC repositories sit in the same package over the same @Entity classes,
+// which JPA would otherwise claim and then refuse as reactive
+@EnableJpaRepositories(basePackages = "com.udemy.loans.repository", excludeFilters =
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveCrudRepository.class))
+public class JpaAuditingConfig {
+}
@@ -0,0 +1,25 @@
+package com.udemy.loans.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.udemy.common.monitoring.MetricsOutcomes;
+import com.udemy.loans.exception.LoanAlreadyExistsException;
+import com.udemy.loans.exception.OverpaymentException;
+import com.udemy.loans.exception.PaymentReferenceConflictException;
+import com.udemy.loans.exception.ResourseNotFoundException;
+
+@Configuration
+public class MetricsOutcomesConfig {
+
+    @Bean
+    MetricsOutcomes metricsOutcomes() {
+        return new MetricsOutcomes(Map.of(
+                ResourseNotFoundException.class, MetricsOutcomes.NOT_FOUND,
+                LoanAlreadyExistsException.class, MetricsOutcomes.CONFLICT,
+                PaymentReferenceConflictException.class, MetricsOutcomes.CONFLICT,
+                OverpaymentException.class, MetricsOutcomes.DECLINED));
+    }
+}
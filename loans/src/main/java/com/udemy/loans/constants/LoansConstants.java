@@ -8,6 +8,16 @@ public final class LoansConstants {
 
     public static final String HOME_LOAN = "Home Loan";
     public static final int NEW_LOAN_LIMIT = 1_00_000;
+    public static final int HOME_LOAN_ANNUAL_RATE_BPS = 850;
+    public static final int HOME_LOAN_TENURE_MONTHS = 360;
+    public static final String SCHEDULE_CACHE = "schedules";
+    public static final int SCHEDULE_MAX_PAGE_SIZE = 360;
+    public static final long FIRST_LOAN_NUMBER = 100_000_000_000L;
+    public static final long LAST_LOAN_NUMBER = 999_999_999_999L;
+    public static final int LOAN_NUMBER_BLOCK_SIZE = 1_000;
+    public static final int LOAN_NUMBER_BUFFER_SIZE = 20;
+    public static final int BATCH_FETCH_MAX_SIZE = 1_000;
+    public static final int BATCH_FETCH_CHUNK_SIZE = 500;
     public static final String STATUS_201 = "201";
     public static final String MESSAGE_201 = "Loan created successfully";
     public static final String STATUS_200 = "200";
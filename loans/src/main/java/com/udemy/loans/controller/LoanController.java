@@ -1,8 +1,10 @@
 package com.udemy.loans.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,54 +13,87 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.udemy.common.refresh.RefreshableProperties;
+import com.udemy.loans.constants.LoansConstants;
+import com.udemy.loans.dto.BatchFetchResponseDto;
 import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.LoanPortfolioDto;
+import com.udemy.loans.dto.LoanScheduleDto;
 import com.udemy.loans.dto.LoansInfoDto;
+import com.udemy.loans.dto.RepaymentDto;
+import com.udemy.loans.dto.ResponseDto;
 import com.udemy.loans.service.ILoanService;
 
+import jakarta.validation.Valid;
+
 @RestController
 @RequestMapping("/loans")
-@RefreshScope
+@Profile("!reactive")
 public class LoanController {
 
     @Autowired
     private ILoanService loanService;
 
-    @Value("${build.version}")
-    private String buildInfo;
+    @Autowired
+    private Environment environment;
 
     @Autowired
-    private LoansInfoDto loansInfoDto;
+    private RefreshableProperties<LoansInfoDto> loansInfo;
 
     @GetMapping("/{mobileNumber}")
     public LoanDto getLoanDetails(@PathVariable String mobileNumber) {
         return loanService.getLoanDetails(mobileNumber);
     }
 
+    @GetMapping("/{loanNumber}/schedule")
+    public LoanScheduleDto getLoanSchedule(@PathVariable String loanNumber,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "12") int size) {
+        return loanService.getLoanSchedule(loanNumber, page, size);
+    }
+
     @PostMapping("/{mobileNumber}")
     public LoanDto createLoanDetails(@PathVariable String mobileNumber) {
         return loanService.createLoanDetails(mobileNumber);
     }
 
+    @PostMapping("/batch-fetch")
+    public BatchFetchResponseDto batchFetchLoanDetails(@RequestBody List<String> mobileNumbers) {
+        return loanService.batchFetchLoanDetails(mobileNumbers);
+    }
+
     @PutMapping
     public boolean updateLoanDetails(@RequestBody LoanDto loanDto) {
         return loanService.updateLoanDetails(loanDto);
     }
 
+    @PostMapping("/{loanNumber}/repay")
+    public ResponseDto repayLoan(@PathVariable String loanNumber, @Valid @RequestBody RepaymentDto repaymentDto) {
+        loanService.repayLoan(loanNumber, repaymentDto);
+        return new ResponseDto(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200);
+    }
+
     @DeleteMapping("/{mobileNumber}")
     public boolean deleteLoanDetails(@PathVariable String mobileNumber) {
         return loanService.deleteLoanDetails(mobileNumber);
     }
 
+    @GetMapping("/portfolio")
+    public List<LoanPortfolioDto> getLoanPortfolio() {
+        return loanService.getLoanPortfolio();
+    }
+
     @GetMapping("/build-info")
     public ResponseEntity<String> getBuildInfo() {
-        return ResponseEntity.ok(this.buildInfo);
+        // read per request, so a refresh of build.version shows without a restart
+        return ResponseEntity.ok(environment.getProperty("build.version"));
     }
 
     @GetMapping("/loans-info")
     public ResponseEntity<LoansInfoDto> getLoansInfo() {
-        return ResponseEntity.ok(this.loansInfoDto);
+        return ResponseEntity.ok(this.loansInfo.get());
     }
 
 }
@@ -0,0 +1,17 @@
+package com.udemy.loans.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class BatchFetchResponseDto {
+
+    /** Loans keyed by mobile number, in request order. */
+    private Map<String, LoanDto> found = new LinkedHashMap<>();
+    /** Requested mobile numbers that have no loan. */
+    private List<String> missing = new ArrayList<>();
+}
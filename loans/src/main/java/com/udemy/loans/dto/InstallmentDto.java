@@ -0,0 +1,27 @@
+package com.udemy.loans.dto;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(name = "Installment", description = "Schema to hold one installment of a loan schedule")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstallmentDto {
+
+    @Schema(description = "Installment number, starting at 1")
+    private int number;
+
+    private BigDecimal payment;
+
+    private BigDecimal principal;
+
+    private BigDecimal interest;
+
+    @Schema(description = "Amount still owed after this installment")
+    private BigDecimal balance;
+}
@@ -0,0 +1,21 @@
+package com.udemy.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(name = "LoanPortfolio", description = "Schema to hold the totals of all loans of one type")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanPortfolioDto {
+
+    private String loanType;
+
+    private long loanCount;
+
+    private long totalOutstanding;
+
+    private long totalPaid;
+}
@@ -0,0 +1,35 @@
+package com.udemy.loans.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Schema(name = "LoanSchedule", description = "Schema to hold one page of a loan's amortization schedule")
+@Data
+public class LoanScheduleDto {
+
+    private String loanNumber;
+
+    private BigDecimal principal;
+
+    @Schema(description = "Nominal yearly interest rate in percent")
+    private BigDecimal annualRate;
+
+    private int tenureMonths;
+
+    @Schema(description = "Regular monthly payment, the last one is a little smaller")
+    private BigDecimal installment;
+
+    private BigDecimal totalInterest;
+
+    private int page;
+
+    private int size;
+
+    private int totalPages;
+
+    private List<InstallmentDto> installments = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.udemy.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(name = "Repayment", description = "Schema to hold a loan repayment")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepaymentDto {
+
+    @Schema(description = "Reference of the payment, a repeated reference is only applied once")
+    @NotBlank(message = "Payment reference can not be empty")
+    @Size(max = 100, message = "Payment reference can be at most 100 characters")
+    private String paymentReference;
+
+    @Schema(description = "Amount repaid, at most the outstanding amount")
+    @Positive(message = "Amount should be greater than zero")
+    private int amount;
+}
@@ -0,0 +1,35 @@
+package com.udemy.loans.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One applied repayment, kept so that a payment reference is only ever
+ * applied once.
+ */
+@Entity
+@Table(indexes = @Index(name = "ux_loan_repayments_payment_reference", columnList = "payment_reference",
+        unique = true))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanRepayments extends BaseEntity {
+
+    @Id
+    @org.springframework.data.annotation.Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long repaymentId;
+
+    private String paymentReference;
+    private String loanNumber;
+    private int amount;
+}
@@ -4,12 +4,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(indexes = { @Index(name = "ux_loans_mobile_number", columnList = "mobile_number", unique = true),
+        @Index(name = "ux_loans_loan_number", columnList = "loan_number", unique = true) })
 @Getter
 @Setter
 @AllArgsConstructor
@@ -17,6 +21,7 @@ import lombok.Setter;
 public class Loans extends BaseEntity {
 
     @Id
+    @org.springframework.data.annotation.Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long loanId;
 
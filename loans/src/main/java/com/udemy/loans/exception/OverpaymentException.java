@@ -0,0 +1,11 @@
+package com.udemy.loans.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+public class OverpaymentException extends RuntimeException {
+    public OverpaymentException(String loanNumber, int amount) {
+        super(String.format("Loan '%s' has less than %d outstanding", loanNumber, amount));
+    }
+}
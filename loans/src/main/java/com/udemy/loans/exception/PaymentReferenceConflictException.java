@@ -0,0 +1,11 @@
+package com.udemy.loans.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class PaymentReferenceConflictException extends RuntimeException {
+    public PaymentReferenceConflictException(String paymentReference) {
+        super(String.format("Payment reference '%s' was already used for another repayment", paymentReference));
+    }
+}
@@ -0,0 +1,55 @@
+package com.udemy.loans.mapper;
+
+import java.math.BigDecimal;
+
+import com.udemy.loans.constants.LoansConstants;
+import com.udemy.loans.dto.InstallmentDto;
+import com.udemy.loans.dto.LoanScheduleDto;
+import com.udemy.loans.entity.Loans;
+import com.udemy.loans.schedule.AmortizationSchedule;
+import com.udemy.loans.schedule.AmortizationScheduleCache;
+
+public class LoanScheduleMapper {
+
+    private static final int CENTS_SCALE = 2;
+
+    /**
+     * @return the memoized schedule of the loan's original terms
+     */
+    public static AmortizationSchedule scheduleOf(Loans loan, AmortizationScheduleCache scheduleCache) {
+        return scheduleCache.schedule(loan.getTotalLoan() * 100L, LoansConstants.HOME_LOAN_ANNUAL_RATE_BPS,
+                LoansConstants.HOME_LOAN_TENURE_MONTHS);
+    }
+
+    /**
+     * Builds DTOs for the requested rows only, the schedule itself is not
+     * copied. Out-of-range sizes are clamped and a page past the end is empty.
+     */
+    public static LoanScheduleDto mapToLoanScheduleDto(Loans loan, AmortizationSchedule schedule, int page,
+            int size) {
+        int pageSize = Math.max(1, Math.min(size, LoansConstants.SCHEDULE_MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        LoanScheduleDto loanScheduleDto = new LoanScheduleDto();
+        loanScheduleDto.setLoanNumber(loan.getLoanNumber());
+        loanScheduleDto.setPrincipal(BigDecimal.valueOf(loan.getTotalLoan()));
+        loanScheduleDto.setAnnualRate(BigDecimal.valueOf(LoansConstants.HOME_LOAN_ANNUAL_RATE_BPS, 2));
+        loanScheduleDto.setTenureMonths(schedule.tenureMonths());
+        loanScheduleDto.setInstallment(amount(schedule.installment()));
+        loanScheduleDto.setTotalInterest(amount(schedule.totalInterest()));
+        loanScheduleDto.setPage(pageNumber);
+        loanScheduleDto.setSize(pageSize);
+        loanScheduleDto.setTotalPages((schedule.tenureMonths() + pageSize - 1) / pageSize);
+        long from = (long) pageNumber * pageSize;
+        for (int month = (int) Math.min(from, schedule.tenureMonths());
+                month < Math.min(from + pageSize, schedule.tenureMonths()); month++) {
+            loanScheduleDto.getInstallments().add(new InstallmentDto(month + 1, amount(schedule.payment(month)),
+                    amount(schedule.principal(month)), amount(schedule.interest(month)),
+                    amount(schedule.balance(month))));
+        }
+        return loanScheduleDto;
+    }
+
+    private static BigDecimal amount(long cents) {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+}
@@ -0,0 +1,29 @@
+package com.udemy.loans.monitoring;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import com.udemy.common.monitoring.MetricsOutcomes;
+import com.udemy.common.monitoring.ServiceMetricsAspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times the loans service methods, see {@link ServiceMetricsAspect}.
+ */
+@Aspect
+@Component
+public class LoansMetricsAspect extends ServiceMetricsAspect {
+
+    LoansMetricsAspect(MeterRegistry meterRegistry, MetricsOutcomes metricsOutcomes) {
+        super(meterRegistry, metricsOutcomes);
+    }
+
+    // the reactive variant returns before any work is done, timing it here would be meaningless
+    @Override
+    @Pointcut("execution(* com.udemy.loans.service.ILoanService+.*(..))")
+    public void serviceMethods() {
+        // only the pointcut
+    }
+}
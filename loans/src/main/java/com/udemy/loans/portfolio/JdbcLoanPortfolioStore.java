@@ -0,0 +1,88 @@
+package com.udemy.loans.portfolio;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.udemy.loans.dto.LoanPortfolioDto;
+
+@Component
+@Profile("!reactive")
+public class JdbcLoanPortfolioStore implements LoanPortfolioStore {
+
+    static final String TOTALS_SQL = """
+            SELECT loan_type, loan_count, total_outstanding, total_paid
+            FROM loan_portfolio WHERE loan_count <> 0 ORDER BY loan_type""";
+    static final String COUNT_SQL = "SELECT COUNT(*) FROM loan_portfolio";
+    static final String DELETE_SQL = "DELETE FROM loan_portfolio";
+    static final String REBUILD_SQL = """
+            INSERT INTO loan_portfolio (loan_type, loan_count, total_outstanding, total_paid, updated_at)
+            SELECT loan_type, COUNT(*), COALESCE(SUM(outstanding_amount), 0), COALESCE(SUM(amount_paid), 0),
+                CURRENT_TIMESTAMP
+            FROM loans GROUP BY loan_type""";
+    // additive, so instances adding their changes at the same time do not overwrite each other
+    static final String ADD_SQL = """
+            UPDATE loan_portfolio SET loan_count = loan_count + :loanCount,
+                total_outstanding = total_outstanding + :totalOutstanding, total_paid = total_paid + :totalPaid,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE loan_type = :loanType""";
+    static final String INSERT_SQL = """
+            INSERT INTO loan_portfolio (loan_type, loan_count, total_outstanding, total_paid, updated_at)
+            VALUES (:loanType, :loanCount, :totalOutstanding, :totalPaid, CURRENT_TIMESTAMP)""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    JdbcLoanPortfolioStore(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @return the totals of every loan type that has loans, by loan type
+     */
+    public List<LoanPortfolioDto> totals() {
+        return jdbcTemplate.query(TOTALS_SQL, new DataClassRowMapper<>(LoanPortfolioDto.class));
+    }
+
+    @Override
+    public void rebuildIfEmpty() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (jdbcTemplate.queryForObject(COUNT_SQL, EmptySqlParameterSource.INSTANCE, Long.class) == 0) {
+                    jdbcTemplate.update(REBUILD_SQL, EmptySqlParameterSource.INSTANCE);
+                }
+            });
+        } catch (DuplicateKeyException ex) {
+            // another instance starting at the same time filled it first
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_SQL, EmptySqlParameterSource.INSTANCE);
+            jdbcTemplate.update(REBUILD_SQL, EmptySqlParameterSource.INSTANCE);
+        });
+    }
+
+    @Override
+    public void add(List<LoanPortfolioDto> deltas) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (LoanPortfolioDto delta : deltas) {
+                BeanPropertySqlParameterSource parameters = new BeanPropertySqlParameterSource(delta);
+                if (jdbcTemplate.update(ADD_SQL, parameters) == 0) {
+                    // first loan of a new type, a concurrent insert fails the flush and is added next time
+                    jdbcTemplate.update(INSERT_SQL, parameters);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.udemy.loans.portfolio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.udemy.loans.dto.LoanPortfolioDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Changes to the loan count, outstanding and paid totals per loan type,
+ * recorded by the loan service after every committed write and added to the
+ * loan_portfolio table every {@code loans.portfolio.flush-interval}. The
+ * endpoint reads that table, so every instance answers the same totals
+ * without scanning the loans table. The table is filled from one grouped scan
+ * when an instance starts and finds it empty.
+ * <p>
+ * Each change is a {@link LongAdder}, so concurrent writes to the same loan
+ * type do not contend. The changes of one type are taken one after the other,
+ * so a write may reach the table over two flushes. Changes not flushed when
+ * an instance dies are lost; emptying the table makes the next instance to
+ * start rebuild it.
+ */
+@Slf4j
+@Component
+public class LoanPortfolio implements SmartLifecycle {
+
+    private final LoanPortfolioStore store;
+    private final Map<String, Rollup> rollups = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    LoanPortfolio(LoanPortfolioStore store) {
+        this.store = store;
+    }
+
+    public void added(String loanType, int outstandingAmount, int amountPaid) {
+        rollup(loanType).add(1, outstandingAmount, amountPaid);
+    }
+
+    public void removed(String loanType, int outstandingAmount, int amountPaid) {
+        rollup(loanType).add(-1, -outstandingAmount, -amountPaid);
+    }
+
+    public void repaid(String loanType, int amount) {
+        rollup(loanType).add(0, -amount, amount);
+    }
+
+    /**
+     * Adds the changes recorded since the last flush to the loan_portfolio
+     * table. Changes that cannot be added are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${loans.portfolio.flush-interval:1s}")
+    public synchronized void flush() {
+        List<LoanPortfolioDto> deltas = new ArrayList<>();
+        rollups.forEach((loanType, rollup) -> {
+            LoanPortfolioDto delta = rollup.drain(loanType);
+            if (delta.getLoanCount() != 0 || delta.getTotalOutstanding() != 0 || delta.getTotalPaid() != 0) {
+                deltas.add(delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            store.add(deltas);
+        } catch (RuntimeException ex) {
+            log.warn("Loan portfolio changes of {} loan types kept for the next flush", deltas.size(), ex);
+            deltas.forEach(delta -> rollup(delta.getLoanType()).add(delta.getLoanCount(),
+                    delta.getTotalOutstanding(), delta.getTotalPaid()));
+        }
+    }
+
+    /**
+     * Drops the unflushed changes and replaces the table with a grouped scan
+     * of the loans table. Only exact while no instance is writing loans.
+     */
+    public synchronized void rebuild() {
+        rollups.clear();
+        store.rebuild();
+    }
+
+    /**
+     * Fills an empty table before the service takes any traffic.
+     */
+    @Override
+    public void start() {
+        store.rebuildIfEmpty();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // before the web server starts and after it stops
+        return 0;
+    }
+
+    private Rollup rollup(String loanType) {
+        return rollups.computeIfAbsent(loanType, key -> new Rollup());
+    }
+
+    private static final class Rollup {
+        private final LongAdder loanCount = new LongAdder();
+        private final LongAdder totalOutstanding = new LongAdder();
+        private final LongAdder totalPaid = new LongAdder();
+
+        private void add(long loans, long outstanding, long paid) {
+            loanCount.add(loans);
+            totalOutstanding.add(outstanding);
+            totalPaid.add(paid);
+        }
+
+        private LoanPortfolioDto drain(String loanType) {
+            // a concurrent add lands either in this drain or in the next one
+            return new LoanPortfolioDto(loanType, loanCount.sumThenReset(), totalOutstanding.sumThenReset(),
+                    totalPaid.sumThenReset());
+        }
+    }
+}
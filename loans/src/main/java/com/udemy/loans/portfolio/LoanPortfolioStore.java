@@ -0,0 +1,28 @@
+package com.udemy.loans.portfolio;
+
+import java.util.List;
+
+import com.udemy.loans.dto.LoanPortfolioDto;
+
+/**
+ * The loan_portfolio table, which every loans instance adds its changes to
+ * and serves the totals from.
+ */
+public interface LoanPortfolioStore {
+
+    /**
+     * Fills the table from one grouped scan of the loans table, unless it
+     * already has rows or another instance fills it at the same time.
+     */
+    void rebuildIfEmpty();
+
+    /**
+     * Replaces the totals with one grouped scan of the loans table.
+     */
+    void rebuild();
+
+    /**
+     * @param deltas - Change of each loan type, added to its totals in one transaction
+     */
+    void add(List<LoanPortfolioDto> deltas);
+}
@@ -0,0 +1,11 @@
+package com.udemy.loans.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.udemy.loans.entity.LoanRepayments;
+
+public interface LoanRepaymentRepository extends JpaRepository<LoanRepayments, Long> {
+    Optional<LoanRepayments> findByPaymentReference(String paymentReference);
+}
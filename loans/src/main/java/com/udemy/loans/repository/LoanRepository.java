@@ -1,13 +1,50 @@
 package com.udemy.loans.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.udemy.loans.entity.Loans;
 
+import jakarta.persistence.LockModeType;
+
 public interface LoanRepository extends JpaRepository<Loans, Long> {
     Optional<Loans> findByMobileNumber(String mobileNumber);
 
+    /**
+     * Locks the row until the transaction ends, so concurrent updates, deletes
+     * and repayments of the loan apply one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Loans> findForUpdateByMobileNumber(String mobileNumber);
+
+    List<Loans> findByMobileNumberIn(Collection<String> mobileNumbers);
+
     boolean existsByMobileNumber(String mobileNumber);
+
+    Optional<Loans> findByLoanNumber(String loanNumber);
+
+    boolean existsByLoanNumber(String loanNumber);
+
+    @Query("select l.loanType from Loans l where l.loanNumber = :loanNumber")
+    Optional<String> findLoanTypeByLoanNumber(@Param("loanNumber") String loanNumber);
+
+    /**
+     * @return 1 when the amount was applied, 0 when the loan is unknown or
+     *         less than the amount is outstanding
+     */
+    @Modifying
+    @Query("""
+            update Loans l set l.amountPaid = l.amountPaid + :amount, l.outstandingAmount = l.outstandingAmount - :amount,
+                l.updatedAt = :updatedAt, l.updatedBy = :updatedBy
+            where l.loanNumber = :loanNumber and l.outstandingAmount >= :amount""")
+    int repay(@Param("loanNumber") String loanNumber, @Param("amount") int amount,
+            @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") String updatedBy);
 }
@@ -0,0 +1,101 @@
+package com.udemy.loans.schedule;
+
+/**
+ * Equal monthly installment schedule of a loan. Amounts are in minor units
+ * (cents) and kept in one primitive array per column, so a 30-year schedule
+ * is three arrays rather than 360 row objects. Instances are immutable and
+ * shared between requests.
+ */
+public final class AmortizationSchedule {
+
+    private static final double BASIS_POINTS = 10_000;
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final long installment;
+    private final long totalInterest;
+    private final long[] principal;
+    private final long[] interest;
+    private final long[] balance;
+
+    private AmortizationSchedule(long installment, long totalInterest, long[] principal, long[] interest,
+            long[] balance) {
+        this.installment = installment;
+        this.totalInterest = totalInterest;
+        this.principal = principal;
+        this.interest = interest;
+        this.balance = balance;
+    }
+
+    /**
+     * @param principal     - Amount borrowed, in minor units
+     * @param annualRateBps - Nominal yearly interest rate in basis points
+     * @param tenureMonths  - Number of monthly installments
+     */
+    public static AmortizationSchedule compute(long principal, int annualRateBps, int tenureMonths) {
+        if (principal < 0 || annualRateBps < 0 || tenureMonths <= 0) {
+            throw new IllegalArgumentException(String.format("No schedule for principal %d, rate %d bps, %d months",
+                    principal, annualRateBps, tenureMonths));
+        }
+        double monthlyRate = annualRateBps / BASIS_POINTS / MONTHS_PER_YEAR;
+        long installment = installment(principal, monthlyRate, tenureMonths);
+        long[] principalPart = new long[tenureMonths];
+        long[] interestPart = new long[tenureMonths];
+        long[] balance = new long[tenureMonths];
+        long outstanding = principal;
+        long totalInterest = 0;
+        for (int month = 0; month < tenureMonths; month++) {
+            long interest = Math.round(outstanding * monthlyRate);
+            // the last installment absorbs the rounding of all the others
+            long repaid = month == tenureMonths - 1 ? outstanding : Math.min(installment - interest, outstanding);
+            outstanding -= repaid;
+            principalPart[month] = repaid;
+            interestPart[month] = interest;
+            balance[month] = outstanding;
+            totalInterest += interest;
+        }
+        return new AmortizationSchedule(installment, totalInterest, principalPart, interestPart, balance);
+    }
+
+    private static long installment(long principal, double monthlyRate, int tenureMonths) {
+        if (monthlyRate == 0) {
+            return (principal + tenureMonths - 1) / tenureMonths;
+        }
+        double growth = Math.pow(1 + monthlyRate, tenureMonths);
+        // rounded up, so the last installment comes out slightly smaller rather than larger
+        return (long) Math.ceil(principal * monthlyRate * growth / (growth - 1));
+    }
+
+    public int tenureMonths() {
+        return balance.length;
+    }
+
+    /**
+     * @return the regular monthly payment, the last one is a little smaller
+     */
+    public long installment() {
+        return installment;
+    }
+
+    public long totalInterest() {
+        return totalInterest;
+    }
+
+    /**
+     * @param month - Zero-based installment index
+     */
+    public long payment(int month) {
+        return principal[month] + interest[month];
+    }
+
+    public long principal(int month) {
+        return principal[month];
+    }
+
+    public long interest(int month) {
+        return interest[month];
+    }
+
+    public long balance(int month) {
+        return balance[month];
+    }
+}
@@ -0,0 +1,20 @@
+package com.udemy.loans.schedule;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import com.udemy.loans.constants.LoansConstants;
+
+/**
+ * Schedules memoized by principal, rate and tenure. Loans of the same type and
+ * amount share one schedule, and every page of it is served from the same
+ * instance.
+ */
+@Component
+public class AmortizationScheduleCache {
+
+    @Cacheable(cacheNames = LoansConstants.SCHEDULE_CACHE)
+    public AmortizationSchedule schedule(long principal, int annualRateBps, int tenureMonths) {
+        return AmortizationSchedule.compute(principal, annualRateBps, tenureMonths);
+    }
+}
@@ -1,13 +1,53 @@
 package com.udemy.loans.service;
 
+import java.util.List;
+
+import com.udemy.loans.dto.BatchFetchResponseDto;
 import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.LoanPortfolioDto;
+import com.udemy.loans.dto.LoanScheduleDto;
+import com.udemy.loans.dto.RepaymentDto;
 
 public interface ILoanService {
     public LoanDto getLoanDetails(String mobileNumber);
 
+    /**
+     * @param mobileNumbers - Mobile Numbers to look up, at most
+     *                      {@code BATCH_FETCH_MAX_SIZE}, duplicates are ignored
+     * @return the loans found and the mobile numbers without one
+     */
+    public BatchFetchResponseDto batchFetchLoanDetails(List<String> mobileNumbers);
+
+    /**
+     * @param loanNumber - Number of the loan
+     * @param page       - Zero-based page of installments
+     * @param size       - Installments per page, at most {@code SCHEDULE_MAX_PAGE_SIZE}
+     * @return one page of the loan's amortization schedule
+     */
+    public LoanScheduleDto getLoanSchedule(String loanNumber, int page, int size);
+
     public LoanDto createLoanDetails(String mobileNumber);
 
     public boolean updateLoanDetails(LoanDto loanDto);
 
+    /**
+     * Applies the repayment in a single conditional update, so concurrent
+     * repayments of the same loan never overpay it. A payment reference is
+     * applied at most once, repeating it succeeds without another change.
+     *
+     * @param loanNumber   - Number of the loan to repay
+     * @param repaymentDto - Payment reference and positive amount
+     * @return true when the repayment was applied, now or before
+     */
+    public boolean repayLoan(String loanNumber, RepaymentDto repaymentDto);
+
     public boolean deleteLoanDetails(String mobileNumber);
+
+    /**
+     * Answered from the loan_portfolio table, which every instance adds its
+     * writes to, in constant time whatever the number of loans.
+     *
+     * @return count, outstanding and paid totals of each loan type
+     */
+    public List<LoanPortfolioDto> getLoanPortfolio();
 }
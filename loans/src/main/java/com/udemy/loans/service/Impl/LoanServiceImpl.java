@@ -1,26 +1,59 @@
 package com.udemy.loans.service.Impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.udemy.common.exception.UniqueViolations;
+import com.udemy.idgen.BlockIdAllocator;
 import com.udemy.loans.constants.LoansConstants;
+import com.udemy.loans.dto.BatchFetchResponseDto;
 import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.LoanPortfolioDto;
+import com.udemy.loans.dto.LoanScheduleDto;
+import com.udemy.loans.dto.RepaymentDto;
+import com.udemy.loans.entity.LoanRepayments;
 import com.udemy.loans.entity.Loans;
+import com.udemy.loans.exception.BatchTooLargeException;
 import com.udemy.loans.exception.LoanAlreadyExistsException;
+import com.udemy.loans.exception.OverpaymentException;
+import com.udemy.loans.exception.PaymentReferenceConflictException;
 import com.udemy.loans.exception.ResourseNotFoundException;
 import com.udemy.loans.mapper.LoanMapper;
+import com.udemy.loans.mapper.LoanScheduleMapper;
+import com.udemy.loans.portfolio.JdbcLoanPortfolioStore;
+import com.udemy.loans.portfolio.LoanPortfolio;
+import com.udemy.loans.repository.LoanRepaymentRepository;
 import com.udemy.loans.repository.LoanRepository;
+import com.udemy.loans.schedule.AmortizationScheduleCache;
 import com.udemy.loans.service.ILoanService;
 
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
 @Service
+@Profile("!reactive")
 public class LoanServiceImpl implements ILoanService {
 
     private final LoanRepository loanRepository;
+    private final BlockIdAllocator loanNumberAllocator;
+    private final LoanRepaymentRepository loanRepaymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final AmortizationScheduleCache scheduleCache;
+    private final LoanPortfolio loanPortfolio;
+    private final JdbcLoanPortfolioStore loanPortfolioStore;
 
     @Override
     public LoanDto getLoanDetails(String mobileNumber) {
@@ -31,46 +64,176 @@ public class LoanServiceImpl implements ILoanService {
         throw new ResourseNotFoundException("Loan ", "mobileNumber", mobileNumber);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BatchFetchResponseDto batchFetchLoanDetails(List<String> mobileNumbers) {
+        List<String> distinctMobileNumbers = distinctMobileNumbers(mobileNumbers);
+        Map<String, LoanDto> loans = new HashMap<>();
+        // bounded IN lists keep the statement size and the query plan cache in check
+        for (List<String> chunk : chunks(distinctMobileNumbers)) {
+            loanRepository.findByMobileNumberIn(chunk)
+                    .forEach(loan -> loans.put(loan.getMobileNumber(), LoanMapper.mapToLoanDto(loan, new LoanDto())));
+        }
+        return batchFetchResponse(distinctMobileNumbers, loans);
+    }
+
+    @Override
+    public LoanScheduleDto getLoanSchedule(String loanNumber, int page, int size) {
+        Loans loan = loanRepository.findByLoanNumber(loanNumber)
+                .orElseThrow(() -> new ResourseNotFoundException("Loan ", "loanNumber", loanNumber));
+        return LoanScheduleMapper.mapToLoanScheduleDto(loan, LoanScheduleMapper.scheduleOf(loan, scheduleCache), page,
+                size);
+    }
+
     @Override
     public LoanDto createLoanDetails(String mobileNumber) {
-        if (loanRepository.existsByMobileNumber(mobileNumber)) {
-            throw new LoanAlreadyExistsException("Loan already exists for mobile number: " + mobileNumber);
+        try {
+            // the unique index on mobile_number rejects duplicates, no lookup needed
+            Loans loan = loanRepository.saveAndFlush(createNewLoan(mobileNumber, loanNumberAllocator.nextId()));
+            PortfolioShare.of(loan).addTo(loanPortfolio);
+            return LoanMapper.mapToLoanDto(loan, new LoanDto());
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueViolations.isUniqueViolation(ex)) {
+                throw new LoanAlreadyExistsException(mobileNumber);
+            }
+            throw ex;
         }
-        LoanDto savedLoanDto = LoanMapper.mapToLoanDto(loanRepository.save(createNewLoan(mobileNumber)),
-                new LoanDto());
-        return savedLoanDto;
     }
 
     @Override
     public boolean updateLoanDetails(LoanDto loanDto) {
-        boolean isUpdated = false;
-        Optional<Loans> loan = loanRepository.findByMobileNumber(loanDto.getMobileNumber());
-        if (loan.isPresent()) {
-            loanRepository.save(LoanMapper.mapToLoan(loanDto, loan.get()));
-            isUpdated = true;
-        } else {
-            throw new ResourseNotFoundException("Loan ", "mobileNumber", loanDto.getMobileNumber());
-        }
-        return isUpdated;
+        // the locked row is what the portfolio holds for this loan, so a concurrent write cannot skew the totals
+        PortfolioShare[] update = transactionTemplate.execute(status -> {
+            Loans loan = loanRepository.findForUpdateByMobileNumber(loanDto.getMobileNumber())
+                    .orElseThrow(() -> new ResourseNotFoundException("Loan ", "mobileNumber", loanDto.getMobileNumber()));
+            PortfolioShare before = PortfolioShare.of(loan);
+            return new PortfolioShare[] { before,
+                    PortfolioShare.of(loanRepository.saveAndFlush(LoanMapper.mapToLoan(loanDto, loan))) };
+        });
+        update[0].removeFrom(loanPortfolio);
+        update[1].addTo(loanPortfolio);
+        return true;
     }
 
     @Override
     public boolean deleteLoanDetails(String mobileNumber) {
-        boolean isDeleted = false;
-        Optional<Loans> loan = loanRepository.findByMobileNumber(mobileNumber);
-        if (loan.isPresent()) {
-            loanRepository.delete(loan.get());
-            isDeleted = true;
-        } else {
-            throw new ResourseNotFoundException("Loan ", "mobileNumber", mobileNumber);
+        PortfolioShare deleted = transactionTemplate.execute(status -> {
+            Loans loan = loanRepository.findForUpdateByMobileNumber(mobileNumber)
+                    .orElseThrow(() -> new ResourseNotFoundException("Loan ", "mobileNumber", mobileNumber));
+            loanRepository.delete(loan);
+            return PortfolioShare.of(loan);
+        });
+        deleted.removeFrom(loanPortfolio);
+        return true;
+    }
+
+    @Override
+    public boolean repayLoan(String loanNumber, RepaymentDto repaymentDto) {
+        String loanType;
+        try {
+            loanType = transactionTemplate.execute(status -> {
+                // claiming the reference first makes a concurrent duplicate wait on its index entry and then fail
+                loanRepaymentRepository.saveAndFlush(createRepayment(loanNumber, repaymentDto));
+                if (loanRepository.repay(loanNumber, repaymentDto.getAmount(), LocalDateTime.now(),
+                        auditorAware.getCurrentAuditor().orElse(null)) == 0) {
+                    // rolls the claimed reference back as well, the payment may be retried
+                    throw rejection(loanNumber, repaymentDto.getAmount(),
+                            loanRepository.existsByLoanNumber(loanNumber));
+                }
+                return loanRepository.findLoanTypeByLoanNumber(loanNumber).orElseThrow();
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (!UniqueViolations.isUniqueViolation(ex)) {
+                throw ex;
+            }
+            return replayedRepayment(loanNumber, repaymentDto,
+                    loanRepaymentRepository.findByPaymentReference(repaymentDto.getPaymentReference()).orElseThrow());
+        }
+        loanPortfolio.repaid(loanType, repaymentDto.getAmount());
+        return true;
+    }
+
+    @Override
+    public List<LoanPortfolioDto> getLoanPortfolio() {
+        return loanPortfolioStore.totals();
+    }
+
+    /**
+     * What one loan adds to the portfolio totals, taken inside the transaction
+     * and applied once it has committed.
+     */
+    record PortfolioShare(String loanType, int outstandingAmount, int amountPaid) {
+        static PortfolioShare of(Loans loan) {
+            return new PortfolioShare(loan.getLoanType(), loan.getOutstandingAmount(), loan.getAmountPaid());
+        }
+
+        void addTo(LoanPortfolio loanPortfolio) {
+            loanPortfolio.added(loanType, outstandingAmount, amountPaid);
+        }
+
+        void removeFrom(LoanPortfolio loanPortfolio) {
+            loanPortfolio.removed(loanType, outstandingAmount, amountPaid);
+        }
+    }
+
+    static LoanRepayments createRepayment(String loanNumber, RepaymentDto repaymentDto) {
+        LoanRepayments repayment = new LoanRepayments();
+        repayment.setPaymentReference(repaymentDto.getPaymentReference());
+        repayment.setLoanNumber(loanNumber);
+        repayment.setAmount(repaymentDto.getAmount());
+        return repayment;
+    }
+
+    static RuntimeException rejection(String loanNumber, int amount, boolean loanExists) {
+        if (!loanExists) {
+            return new ResourseNotFoundException("Loan ", "loanNumber", loanNumber);
+        }
+        return new OverpaymentException(loanNumber, amount);
+    }
+
+    /**
+     * A repeated reference succeeds again without being applied, unless it
+     * was first used for a different repayment.
+     */
+    static boolean replayedRepayment(String loanNumber, RepaymentDto repaymentDto, LoanRepayments applied) {
+        if (!applied.getLoanNumber().equals(loanNumber) || applied.getAmount() != repaymentDto.getAmount()) {
+            throw new PaymentReferenceConflictException(repaymentDto.getPaymentReference());
+        }
+        return true;
+    }
+
+    static List<String> distinctMobileNumbers(List<String> mobileNumbers) {
+        if (mobileNumbers.size() > LoansConstants.BATCH_FETCH_MAX_SIZE) {
+            throw new BatchTooLargeException(mobileNumbers.size(), LoansConstants.BATCH_FETCH_MAX_SIZE);
+        }
+        return mobileNumbers.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    static List<List<String>> chunks(List<String> mobileNumbers) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < mobileNumbers.size(); from += LoansConstants.BATCH_FETCH_CHUNK_SIZE) {
+            chunks.add(mobileNumbers.subList(from,
+                    Math.min(from + LoansConstants.BATCH_FETCH_CHUNK_SIZE, mobileNumbers.size())));
+        }
+        return chunks;
+    }
+
+    static BatchFetchResponseDto batchFetchResponse(List<String> mobileNumbers, Map<String, LoanDto> loans) {
+        BatchFetchResponseDto batchFetchResponseDto = new BatchFetchResponseDto();
+        for (String mobileNumber : mobileNumbers) {
+            LoanDto loan = loans.get(mobileNumber);
+            if (loan != null) {
+                batchFetchResponseDto.getFound().put(mobileNumber, loan);
+            } else {
+                batchFetchResponseDto.getMissing().add(mobileNumber);
+            }
         }
-        return isDeleted;
+        return batchFetchResponseDto;
     }
 
-    private Loans createNewLoan(String mobileNumber) {
+    static Loans createNewLoan(String mobileNumber, long loanNumber) {
         Loans newLoan = new Loans();
-        long randomLoanNumber = 100000000000L + new Random().nextInt(900000000);
-        newLoan.setLoanNumber(Long.toString(randomLoanNumber));
+        newLoan.setLoanNumber(Long.toString(loanNumber));
         newLoan.setMobileNumber(mobileNumber);
         newLoan.setLoanType(LoansConstants.HOME_LOAN);
         newLoan.setTotalLoan(LoansConstants.NEW_LOAN_LIMIT);
@@ -1,3 +1,6 @@
+-- each value reserves a block of LOAN_NUMBER_BLOCK_SIZE loan numbers
+CREATE SEQUENCE IF NOT EXISTS `loan_number_block_seq` START WITH 0 MINVALUE 0;
+
 CREATE TABLE IF NOT EXISTS `loans` (
   `loan_id` int NOT NULL AUTO_INCREMENT,
   `mobile_number` varchar(15) NOT NULL,
@@ -6,9 +9,37 @@ CREATE TABLE IF NOT EXISTS `loans` (
   `total_loan` int NOT NULL,
   `amount_paid` int NOT NULL,
   `outstanding_amount` int NOT NULL,
-  `created_at` date NOT NULL,
+  `created_at` timestamp NOT NULL,
   `created_by` varchar(20) NOT NULL,
-  `updated_at` date DEFAULT NULL,
+  `updated_at` timestamp DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
   PRIMARY KEY (`loan_id`)
-);
\ No newline at end of file
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_loans_mobile_number` ON `loans` (`mobile_number`);
+
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_loans_loan_number` ON `loans` (`loan_number`);
+
+CREATE TABLE IF NOT EXISTS `loan_repayments` (
+  `repayment_id` bigint NOT NULL AUTO_INCREMENT,
+  `payment_reference` varchar(100) NOT NULL,
+  `loan_number` varchar(100) NOT NULL,
+  `amount` int NOT NULL,
+  `created_at` timestamp NOT NULL,
+  `created_by` varchar(20) NOT NULL,
+  `updated_at` timestamp DEFAULT NULL,
+  `updated_by` varchar(20) DEFAULT NULL,
+  PRIMARY KEY (`repayment_id`)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_loan_repayments_payment_reference` ON `loan_repayments` (`payment_reference`);
+
+-- per loan type totals, every instance adds its changes and serves them from here
+CREATE TABLE IF NOT EXISTS `loan_portfolio` (
+  `loan_type` varchar(100) NOT NULL,
+  `loan_count` bigint NOT NULL,
+  `total_outstanding` bigint NOT NULL,
+  `total_paid` bigint NOT NULL,
+  `updated_at` timestamp NOT NULL,
+  PRIMARY KEY (`loan_type`)
+);
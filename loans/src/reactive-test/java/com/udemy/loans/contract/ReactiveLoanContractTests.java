@@ -0,0 +1,10 @@
+package com.udemy.loans.contract;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * WebFlux and R2DBC, selected with the "reactive" profile.
+ */
+@ActiveProfiles("reactive")
+class ReactiveLoanContractTests extends LoanContractTests {
+}
@@ -0,0 +1,41 @@
+package com.udemy.loans.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.udemy.idgen.BlockIdAllocator;
+
+import reactor.core.publisher.Mono;
+
+@Configuration
+@Profile("reactive")
+@EnableR2dbcAuditing(modifyOnCreate = false)
+public class ReactiveConfig {
+
+    /**
+     * Tomcat is on the classpath for the servlet variant and would otherwise be
+     * picked for the reactive server as well.
+     */
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    ReactiveAuditorAware<String> reactiveAuditorAware(AuditorAware<String> auditAwareImpl) {
+        return () -> Mono.justOrEmpty(auditAwareImpl.getCurrentAuditor());
+    }
+
+    @Bean
+    BlockIdAllocator reactiveLoanNumberAllocator(DatabaseClient databaseClient) {
+        // blocking is fine here, ReactiveLoanServiceImpl only calls nextId() on the boundedElastic scheduler
+        return IdAllocatorConfig.allocator(() -> databaseClient.sql(IdAllocatorConfig.NEXT_BLOCK_SQL)
+                .map(row -> row.get(0, Long.class)).one().block());
+    }
+}
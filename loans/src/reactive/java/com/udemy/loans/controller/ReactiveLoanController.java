@@ -0,0 +1,106 @@
+package com.udemy.loans.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.udemy.common.refresh.RefreshableProperties;
+import com.udemy.loans.constants.LoansConstants;
+import com.udemy.loans.dto.BatchFetchResponseDto;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.LoanPortfolioDto;
+import com.udemy.loans.dto.LoanScheduleDto;
+import com.udemy.loans.dto.LoansInfoDto;
+import com.udemy.loans.dto.RepaymentDto;
+import com.udemy.loans.dto.ResponseDto;
+import com.udemy.loans.service.IReactiveLoanService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same REST contract as {@link LoanController}, served by WebFlux and R2DBC
+ * when the "reactive" profile is active.
+ */
+@RestController
+@RequestMapping("/loans")
+@Profile("reactive")
+public class ReactiveLoanController {
+
+    @Autowired
+    private IReactiveLoanService loanService;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private RefreshableProperties<LoansInfoDto> loansInfo;
+
+    @GetMapping("/{mobileNumber}")
+    public Mono<LoanDto> getLoanDetails(@PathVariable String mobileNumber) {
+        return loanService.getLoanDetails(mobileNumber);
+    }
+
+    @GetMapping("/{loanNumber}/schedule")
+    public Mono<LoanScheduleDto> getLoanSchedule(@PathVariable String loanNumber,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "12") int size) {
+        return loanService.getLoanSchedule(loanNumber, page, size);
+    }
+
+    @PostMapping("/{mobileNumber}")
+    public Mono<LoanDto> createLoanDetails(@PathVariable String mobileNumber) {
+        return loanService.createLoanDetails(mobileNumber);
+    }
+
+    @PostMapping("/batch-fetch")
+    public Mono<BatchFetchResponseDto> batchFetchLoanDetails(@RequestBody List<String> mobileNumbers) {
+        return loanService.batchFetchLoanDetails(mobileNumbers);
+    }
+
+    @PutMapping
+    public Mono<Boolean> updateLoanDetails(@RequestBody LoanDto loanDto) {
+        return loanService.updateLoanDetails(loanDto);
+    }
+
+    @PostMapping("/{loanNumber}/repay")
+    public Mono<ResponseDto> repayLoan(@PathVariable String loanNumber,
+            @Valid @RequestBody RepaymentDto repaymentDto) {
+        return loanService.repayLoan(loanNumber, repaymentDto)
+                .thenReturn(new ResponseDto(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200));
+    }
+
+    @DeleteMapping("/{mobileNumber}")
+    public Mono<Boolean> deleteLoanDetails(@PathVariable String mobileNumber) {
+        return loanService.deleteLoanDetails(mobileNumber);
+    }
+
+    @GetMapping("/portfolio")
+    public Flux<LoanPortfolioDto> getLoanPortfolio() {
+        return loanService.getLoanPortfolio();
+    }
+
+    @GetMapping("/build-info")
+    public ResponseEntity<String> getBuildInfo() {
+        // read per request, so a refresh of build.version shows without a restart
+        return ResponseEntity.ok(environment.getProperty("build.version"));
+    }
+
+    @GetMapping("/loans-info")
+    public ResponseEntity<LoansInfoDto> getLoansInfo() {
+        return ResponseEntity.ok(this.loansInfo.get());
+    }
+
+}
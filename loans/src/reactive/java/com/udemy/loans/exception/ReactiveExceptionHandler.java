@@ -0,0 +1,75 @@
+package com.udemy.loans.exception;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.udemy.loans.dto.ErrorResponseDto;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler}, producing the same
+ * error bodies for the "reactive" profile.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ResourseNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleResourseNotFoundException(ResourseNotFoundException ex,
+            ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.NOT_FOUND, ex);
+    }
+
+    @ExceptionHandler(LoanAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoanAlreadyExistsException(LoanAlreadyExistsException ex,
+            ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.CONFLICT, ex);
+    }
+
+    @ExceptionHandler(PaymentReferenceConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handlePaymentReferenceConflictException(
+            PaymentReferenceConflictException ex, ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.CONFLICT, ex);
+    }
+
+    @ExceptionHandler(OverpaymentException.class)
+    public ResponseEntity<ErrorResponseDto> handleOverpaymentException(OverpaymentException ex,
+            ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.UNPROCESSABLE_ENTITY, ex);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        Map<String, String> validationErrors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors()
+                .forEach(error -> validationErrors.put(error.getField(), error.getDefaultMessage()));
+        return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponseDto> handleBatchTooLargeException(BatchTooLargeException ex,
+            ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.BAD_REQUEST, ex);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDto> handleException(Exception ex, ServerWebExchange exchange) {
+        return errorResponse(exchange, HttpStatus.INTERNAL_SERVER_ERROR, ex);
+    }
+
+    private static ResponseEntity<ErrorResponseDto> errorResponse(ServerWebExchange exchange, HttpStatus status,
+            Exception ex) {
+        // same apiPath format as WebRequest.getDescription(false) in the servlet variant
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto("uri=" + exchange.getRequest().getPath().value(),
+                status, ex.getMessage(), LocalDateTime.now());
+        return new ResponseEntity<>(errorResponseDto, status);
+    }
+}
@@ -0,0 +1,81 @@
+package com.udemy.loans.portfolio;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.udemy.loans.dto.LoanPortfolioDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same loan_portfolio table as {@link JdbcLoanPortfolioStore}, over R2DBC.
+ * Rebuilds and flushes block, they run on startup and on the scheduler, never
+ * on the event loop.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveLoanPortfolioStore implements LoanPortfolioStore {
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    ReactiveLoanPortfolioStore(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * @return the totals of every loan type that has loans, by loan type
+     */
+    public Flux<LoanPortfolioDto> totals() {
+        return databaseClient.sql(JdbcLoanPortfolioStore.TOTALS_SQL)
+                .map(row -> new LoanPortfolioDto(row.get("loan_type", String.class),
+                        row.get("loan_count", Long.class), row.get("total_outstanding", Long.class),
+                        row.get("total_paid", Long.class)))
+                .all();
+    }
+
+    @Override
+    public void rebuildIfEmpty() {
+        transactionalOperator.transactional(databaseClient.sql(JdbcLoanPortfolioStore.COUNT_SQL)
+                        .map(row -> row.get(0, Long.class)).one()
+                        .filter(count -> count == 0)
+                        .flatMap(empty -> databaseClient.sql(JdbcLoanPortfolioStore.REBUILD_SQL).then()))
+                // another instance starting at the same time filled it first
+                .onErrorResume(DuplicateKeyException.class, ex -> Mono.empty())
+                .block();
+    }
+
+    @Override
+    public void rebuild() {
+        transactionalOperator.transactional(databaseClient.sql(JdbcLoanPortfolioStore.DELETE_SQL).then()
+                .then(databaseClient.sql(JdbcLoanPortfolioStore.REBUILD_SQL).then()))
+                .block();
+    }
+
+    @Override
+    public void add(List<LoanPortfolioDto> deltas) {
+        transactionalOperator.transactional(Flux.fromIterable(deltas)
+                .concatMap(delta -> bind(databaseClient.sql(JdbcLoanPortfolioStore.ADD_SQL), delta).fetch()
+                        .rowsUpdated()
+                        .filter(updated -> updated == 0)
+                        .flatMap(missing -> bind(databaseClient.sql(JdbcLoanPortfolioStore.INSERT_SQL), delta)
+                                .then()))
+                .then())
+                .block();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+            LoanPortfolioDto delta) {
+        return spec.bind("loanType", delta.getLoanType())
+                .bind("loanCount", delta.getLoanCount())
+                .bind("totalOutstanding", delta.getTotalOutstanding())
+                .bind("totalPaid", delta.getTotalPaid());
+    }
+}
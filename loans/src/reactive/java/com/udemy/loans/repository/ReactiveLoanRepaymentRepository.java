@@ -0,0 +1,11 @@
+package com.udemy.loans.repository;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+import com.udemy.loans.entity.LoanRepayments;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLoanRepaymentRepository extends R2dbcRepository<LoanRepayments, Long> {
+    Mono<LoanRepayments> findByPaymentReference(String paymentReference);
+}
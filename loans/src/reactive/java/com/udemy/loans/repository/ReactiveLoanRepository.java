@@ -0,0 +1,41 @@
+package com.udemy.loans.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.udemy.loans.entity.Loans;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLoanRepository extends R2dbcRepository<Loans, Long> {
+    Mono<Loans> findByMobileNumber(String mobileNumber);
+
+    Flux<Loans> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+    Mono<Loans> findByLoanNumber(String loanNumber);
+
+    Mono<Boolean> existsByLoanNumber(String loanNumber);
+
+    /**
+     * @see LoanRepository#findForUpdateByMobileNumber(String)
+     */
+    @Query("SELECT * FROM loans WHERE mobile_number = :mobileNumber FOR UPDATE")
+    Mono<Loans> findForUpdateByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    /**
+     * @see LoanRepository#repay(String, int, LocalDateTime, String)
+     */
+    @Modifying
+    @Query("""
+            UPDATE loans SET amount_paid = amount_paid + :amount, outstanding_amount = outstanding_amount - :amount,
+                updated_at = :updatedAt, updated_by = :updatedBy
+            WHERE loan_number = :loanNumber AND outstanding_amount >= :amount""")
+    Mono<Integer> repay(@Param("loanNumber") String loanNumber, @Param("amount") int amount,
+            @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") String updatedBy);
+}
@@ -0,0 +1,37 @@
+package com.udemy.loans.service;
+
+import java.util.List;
+
+import com.udemy.loans.dto.BatchFetchResponseDto;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.LoanPortfolioDto;
+import com.udemy.loans.dto.LoanScheduleDto;
+import com.udemy.loans.dto.RepaymentDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ILoanService}, served with the "reactive"
+ * profile. Errors are signalled with the same exceptions.
+ */
+public interface IReactiveLoanService {
+    public Mono<LoanDto> getLoanDetails(String mobileNumber);
+
+    public Mono<BatchFetchResponseDto> batchFetchLoanDetails(List<String> mobileNumbers);
+
+    public Mono<LoanScheduleDto> getLoanSchedule(String loanNumber, int page, int size);
+
+    public Mono<LoanDto> createLoanDetails(String mobileNumber);
+
+    public Mono<Boolean> updateLoanDetails(LoanDto loanDto);
+
+    public Mono<Boolean> repayLoan(String loanNumber, RepaymentDto repaymentDto);
+
+    public Mono<Boolean> deleteLoanDetails(String mobileNumber);
+
+    /**
+     * @see ILoanService#getLoanPortfolio()
+     */
+    public Flux<LoanPortfolioDto> getLoanPortfolio();
+}
@@ -0,0 +1,145 @@
+package com.udemy.loans.service.Impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.udemy.idgen.BlockIdAllocator;
+import com.udemy.loans.dto.BatchFetchResponseDto;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.LoanPortfolioDto;
+import com.udemy.loans.dto.LoanScheduleDto;
+import com.udemy.loans.dto.RepaymentDto;
+import com.udemy.loans.entity.Loans;
+import com.udemy.loans.exception.LoanAlreadyExistsException;
+import com.udemy.loans.exception.ResourseNotFoundException;
+import com.udemy.loans.mapper.LoanMapper;
+import com.udemy.loans.mapper.LoanScheduleMapper;
+import com.udemy.loans.portfolio.LoanPortfolio;
+import com.udemy.loans.portfolio.ReactiveLoanPortfolioStore;
+import com.udemy.loans.repository.ReactiveLoanRepaymentRepository;
+import com.udemy.loans.repository.ReactiveLoanRepository;
+import com.udemy.loans.schedule.AmortizationScheduleCache;
+import com.udemy.loans.service.IReactiveLoanService;
+import com.udemy.loans.service.Impl.LoanServiceImpl.PortfolioShare;
+
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@AllArgsConstructor
+@Service
+@Profile("reactive")
+public class ReactiveLoanServiceImpl implements IReactiveLoanService {
+
+    private final ReactiveLoanRepository loanRepository;
+    private final BlockIdAllocator loanNumberAllocator;
+    private final ReactiveLoanRepaymentRepository loanRepaymentRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final AuditorAware<String> auditorAware;
+    private final AmortizationScheduleCache scheduleCache;
+    private final LoanPortfolio loanPortfolio;
+    private final ReactiveLoanPortfolioStore loanPortfolioStore;
+
+    @Override
+    public Mono<LoanDto> getLoanDetails(String mobileNumber) {
+        return findLoan(mobileNumber).map(loan -> LoanMapper.mapToLoanDto(loan, new LoanDto()));
+    }
+
+    @Override
+    public Mono<BatchFetchResponseDto> batchFetchLoanDetails(List<String> mobileNumbers) {
+        return Mono.fromCallable(() -> LoanServiceImpl.distinctMobileNumbers(mobileNumbers))
+                .flatMap(distinctMobileNumbers -> Flux.fromIterable(LoanServiceImpl.chunks(distinctMobileNumbers))
+                        .concatMap(loanRepository::findByMobileNumberIn)
+                        .collectMap(Loans::getMobileNumber, loan -> LoanMapper.mapToLoanDto(loan, new LoanDto()))
+                        .map(loans -> LoanServiceImpl.batchFetchResponse(distinctMobileNumbers, loans)));
+    }
+
+    @Override
+    public Mono<LoanScheduleDto> getLoanSchedule(String loanNumber, int page, int size) {
+        // a cache miss is a few microseconds of arithmetic, fine on the event loop
+        return loanRepository.findByLoanNumber(loanNumber)
+                .switchIfEmpty(Mono.error(() -> new ResourseNotFoundException("Loan ", "loanNumber", loanNumber)))
+                .map(loan -> LoanScheduleMapper.mapToLoanScheduleDto(loan,
+                        LoanScheduleMapper.scheduleOf(loan, scheduleCache), page, size));
+    }
+
+    @Override
+    public Mono<LoanDto> createLoanDetails(String mobileNumber) {
+        // nextId() blocks once per block of loan numbers, keep that off the event loop
+        return Mono.fromCallable(() -> LoanServiceImpl.createNewLoan(mobileNumber, loanNumberAllocator.nextId()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(loanRepository::save)
+                .onErrorMap(DuplicateKeyException.class, ex -> new LoanAlreadyExistsException(mobileNumber))
+                .doOnNext(loan -> PortfolioShare.of(loan).addTo(loanPortfolio))
+                .map(loan -> LoanMapper.mapToLoanDto(loan, new LoanDto()));
+    }
+
+    @Override
+    public Mono<Boolean> updateLoanDetails(LoanDto loanDto) {
+        // as in LoanServiceImpl, the locked row is what the portfolio holds for this loan
+        Mono<PortfolioShare[]> update = findLoanForUpdate(loanDto.getMobileNumber())
+                .flatMap(loan -> {
+                    PortfolioShare before = PortfolioShare.of(loan);
+                    return loanRepository.save(LoanMapper.mapToLoan(loanDto, loan))
+                            .map(saved -> new PortfolioShare[] { before, PortfolioShare.of(saved) });
+                });
+        return transactionalOperator.transactional(update)
+                .doOnNext(shares -> {
+                    shares[0].removeFrom(loanPortfolio);
+                    shares[1].addTo(loanPortfolio);
+                })
+                .thenReturn(true);
+    }
+
+    @Override
+    public Mono<Boolean> repayLoan(String loanNumber, RepaymentDto repaymentDto) {
+        int amount = repaymentDto.getAmount();
+        Mono<String> repayment = loanRepaymentRepository
+                .save(LoanServiceImpl.createRepayment(loanNumber, repaymentDto))
+                .then(loanRepository.repay(loanNumber, amount, LocalDateTime.now(),
+                        auditorAware.getCurrentAuditor().orElse(null)))
+                .flatMap(updated -> updated > 0 ? loanRepository.findByLoanNumber(loanNumber)
+                        : loanRepository.existsByLoanNumber(loanNumber).flatMap(
+                                exists -> Mono.<Loans>error(LoanServiceImpl.rejection(loanNumber, amount, exists))))
+                .map(Loans::getLoanType);
+        return transactionalOperator.transactional(repayment)
+                // once committed, a replayed reference never gets here
+                .map(loanType -> {
+                    loanPortfolio.repaid(loanType, amount);
+                    return true;
+                })
+                .onErrorResume(DuplicateKeyException.class,
+                        ex -> loanRepaymentRepository.findByPaymentReference(repaymentDto.getPaymentReference())
+                                .map(applied -> LoanServiceImpl.replayedRepayment(loanNumber, repaymentDto, applied)));
+    }
+
+    @Override
+    public Mono<Boolean> deleteLoanDetails(String mobileNumber) {
+        return transactionalOperator.transactional(findLoanForUpdate(mobileNumber)
+                        .flatMap(loan -> loanRepository.delete(loan).thenReturn(PortfolioShare.of(loan))))
+                .doOnNext(deleted -> deleted.removeFrom(loanPortfolio))
+                .thenReturn(true);
+    }
+
+    @Override
+    public Flux<LoanPortfolioDto> getLoanPortfolio() {
+        return loanPortfolioStore.totals();
+    }
+
+    private Mono<Loans> findLoanForUpdate(String mobileNumber) {
+        return loanRepository.findForUpdateByMobileNumber(mobileNumber)
+                .switchIfEmpty(Mono.error(() -> new ResourseNotFoundException("Loan ", "mobileNumber", mobileNumber)));
+    }
+
+    private Mono<Loans> findLoan(String mobileNumber) {
+        return loanRepository.findByMobileNumber(mobileNumber)
+                .switchIfEmpty(Mono.error(() -> new ResourseNotFoundException("Loan ", "mobileNumber", mobileNumber)));
+    }
+}
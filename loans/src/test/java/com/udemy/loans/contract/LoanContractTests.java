@@ -0,0 +1,231 @@
+package com.udemy.loans.contract;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.udemy.loans.constants.LoansConstants;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.LoanPortfolioDto;
+import com.udemy.loans.dto.RepaymentDto;
+import com.udemy.loans.portfolio.LoanPortfolio;
+
+/**
+ * REST contract of {@code /loans}, run over HTTP against both the servlet and
+ * the reactive variant so that the two stay interchangeable.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class LoanContractTests {
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient client;
+
+    @Autowired
+    private LoanPortfolio loanPortfolio;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+
+    @Test
+    void createdLoanCanBeFetched() {
+        LoanDto created = createLoan("9000000001");
+
+        client.get().uri("/loans/9000000001").exchange()
+                .expectStatus().isOk()
+                .expectBody(LoanDto.class).isEqualTo(created);
+    }
+
+    @Test
+    void newLoanHasDefaults() {
+        LoanDto created = createLoan("9000000002");
+
+        assertAll(
+                () -> assertEquals("9000000002", created.getMobileNumber()),
+                () -> assertEquals(LoansConstants.HOME_LOAN, created.getLoanType()),
+                () -> assertEquals(LoansConstants.NEW_LOAN_LIMIT, created.getTotalLoan()),
+                () -> assertEquals(0, created.getAmountPaid()),
+                () -> assertEquals(LoansConstants.NEW_LOAN_LIMIT, created.getOutstandingAmount()),
+                () -> assertEquals(12, created.getLoanNumber().length()));
+    }
+
+    @Test
+    void duplicateLoanIsRejected() {
+        createLoan("9000000003");
+
+        client.post().uri("/loans/9000000003").exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.apiPath").isEqualTo("uri=/loans/9000000003")
+                .jsonPath("$.errorCode").isEqualTo("CONFLICT")
+                .jsonPath("$.errorMessage").isEqualTo("Loan already exists for mobile number : '9000000003'");
+    }
+
+    @Test
+    void unknownLoanIsNotFound() {
+        client.get().uri("/loans/9000000004").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.apiPath").isEqualTo("uri=/loans/9000000004")
+                .jsonPath("$.errorCode").isEqualTo("NOT_FOUND")
+                .jsonPath("$.errorMessage").isEqualTo("Loan  not found with mobileNumber : '9000000004'");
+    }
+
+    @Test
+    void updatedLoanIsReturnedOnFetch() {
+        LoanDto loan = createLoan("9000000005");
+        loan.setAmountPaid(25_000);
+        loan.setOutstandingAmount(LoansConstants.NEW_LOAN_LIMIT - 25_000);
+
+        client.put().uri("/loans").bodyValue(loan).exchange()
+                .expectStatus().isOk()
+                .expectBody(Boolean.class).isEqualTo(true);
+
+        client.get().uri("/loans/9000000005").exchange()
+                .expectStatus().isOk()
+                .expectBody(LoanDto.class).isEqualTo(loan);
+    }
+
+    @Test
+    void updateOfUnknownLoanIsNotFound() {
+        LoanDto loan = new LoanDto();
+        loan.setMobileNumber("9000000006");
+
+        client.put().uri("/loans").bodyValue(loan).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.errorCode").isEqualTo("NOT_FOUND");
+    }
+
+    @Test
+    void deletedLoanIsGone() {
+        createLoan("9000000007");
+
+        client.delete().uri("/loans/9000000007").exchange()
+                .expectStatus().isOk()
+                .expectBody(Boolean.class).isEqualTo(true);
+
+        client.get().uri("/loans/9000000007").exchange().expectStatus().isNotFound();
+        client.delete().uri("/loans/9000000007").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void batchFetchListsFoundAndMissingLoans() {
+        LoanDto first = createLoan("9000000008");
+        LoanDto second = createLoan("9000000009");
+
+        client.post().uri("/loans/batch-fetch")
+                .bodyValue(List.of("9000000008", "9000000010", "9000000009", "9000000008")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.found.length()").isEqualTo(2)
+                .jsonPath("$.found['9000000008'].loanNumber").isEqualTo(first.getLoanNumber())
+                .jsonPath("$.found['9000000009'].loanNumber").isEqualTo(second.getLoanNumber())
+                .jsonPath("$.missing").isEqualTo(List.of("9000000010"));
+    }
+
+    @Test
+    void oversizedBatchFetchIsRejected() {
+        List<String> mobileNumbers = Collections.nCopies(LoansConstants.BATCH_FETCH_MAX_SIZE + 1, "9000000011");
+
+        client.post().uri("/loans/batch-fetch").bodyValue(mobileNumbers).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.apiPath").isEqualTo("uri=/loans/batch-fetch")
+                .jsonPath("$.errorCode").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    void repeatedRepaymentIsAppliedOnce() {
+        LoanDto loan = createLoan("9000000012");
+        RepaymentDto repayment = new RepaymentDto("salary-2024-01", 5_000);
+
+        for (int i = 0; i < 2; i++) {
+            client.post().uri("/loans/{loanNumber}/repay", loan.getLoanNumber()).bodyValue(repayment).exchange()
+                    .expectStatus().isOk()
+                    .expectBody().jsonPath("$.statusCode").isEqualTo(LoansConstants.STATUS_200);
+        }
+
+        client.get().uri("/loans/9000000012").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.amountPaid").isEqualTo(5_000)
+                .jsonPath("$.outstandingAmount").isEqualTo(LoansConstants.NEW_LOAN_LIMIT - 5_000);
+    }
+
+    @Test
+    void overpaymentIsRejected() {
+        LoanDto loan = createLoan("9000000013");
+        RepaymentDto repayment = new RepaymentDto("payoff", LoansConstants.NEW_LOAN_LIMIT + 1);
+
+        client.post().uri("/loans/{loanNumber}/repay", loan.getLoanNumber()).bodyValue(repayment).exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody().jsonPath("$.errorCode").isEqualTo("UNPROCESSABLE_ENTITY");
+        client.post().uri("/loans/{loanNumber}/repay", loan.getLoanNumber())
+                .bodyValue(new RepaymentDto("payoff", 0)).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.amount").isEqualTo("Amount should be greater than zero");
+    }
+
+    @Test
+    void scheduleIsPaged() {
+        LoanDto loan = createLoan("9000000014");
+
+        client.get().uri("/loans/{loanNumber}/schedule?page=1&size=12", loan.getLoanNumber()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.tenureMonths").isEqualTo(LoansConstants.HOME_LOAN_TENURE_MONTHS)
+                .jsonPath("$.totalPages").isEqualTo(LoansConstants.HOME_LOAN_TENURE_MONTHS / 12)
+                .jsonPath("$.installments.length()").isEqualTo(12)
+                .jsonPath("$.installments[0].number").isEqualTo(13)
+                .jsonPath("$.installments[11].number").isEqualTo(24);
+        client.get().uri("/loans/{loanNumber}/schedule?page=29&size=12", loan.getLoanNumber()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.installments[11].number").isEqualTo(LoansConstants.HOME_LOAN_TENURE_MONTHS)
+                .jsonPath("$.installments[11].balance").isEqualTo(0.0);
+        client.get().uri("/loans/999999999999/schedule").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void portfolioFollowsWrites() {
+        LoanPortfolioDto before = homeLoans();
+
+        LoanDto loan = createLoan("9000000015");
+        client.post().uri("/loans/{loanNumber}/repay", loan.getLoanNumber())
+                .bodyValue(new RepaymentDto("portfolio", 5_000)).exchange()
+                .expectStatus().isOk();
+
+        assertEquals(new LoanPortfolioDto(LoansConstants.HOME_LOAN, before.getLoanCount() + 1,
+                before.getTotalOutstanding() + LoansConstants.NEW_LOAN_LIMIT - 5_000, before.getTotalPaid() + 5_000),
+                homeLoans());
+    }
+
+    private LoanPortfolioDto homeLoans() {
+        // the endpoint serves what the instances have flushed
+        loanPortfolio.flush();
+        return client.get().uri("/loans/portfolio").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(LoanPortfolioDto.class).returnResult().getResponseBody().stream()
+                .filter(loanPortfolioDto -> loanPortfolioDto.getLoanType().equals(LoansConstants.HOME_LOAN))
+                .findFirst()
+                .orElse(new LoanPortfolioDto(LoansConstants.HOME_LOAN, 0, 0, 0));
+    }
+
+    private LoanDto createLoan(String mobileNumber) {
+        return client.post().uri("/loans/{mobileNumber}", mobileNumber).exchange()
+                .expectStatus().isOk()
+                .expectBody(LoanDto.class).returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,7 @@
+package com.udemy.loans.contract;
+
+/**
+ * Spring MVC and JPA, the default variant.
+ */
+class ServletLoanContractTests extends LoanContractTests {
+}
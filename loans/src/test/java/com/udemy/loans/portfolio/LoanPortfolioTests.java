@@ -0,0 +1,185 @@
+package com.udemy.loans.portfolio;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.udemy.common.test.Concurrently;
+import com.udemy.loans.constants.LoansConstants;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.LoanPortfolioDto;
+import com.udemy.loans.dto.RepaymentDto;
+import com.udemy.loans.service.ILoanService;
+
+/**
+ * Checks that the totals served from the loan_portfolio table agree with a
+ * full scan of the loans table once the changes are flushed, also when the
+ * writes run concurrently or come from more than one instance.
+ */
+@SpringBootTest
+class LoanPortfolioTests {
+
+    private static final int THREADS = 16;
+    private static final int LOANS_PER_THREAD = 20;
+    private static final int AMOUNT = 1_000;
+    private static final String SCAN_SQL = """
+            SELECT loan_type, COUNT(*) AS loan_count, SUM(outstanding_amount) AS total_outstanding,
+                SUM(amount_paid) AS total_paid
+            FROM loans GROUP BY loan_type ORDER BY loan_type""";
+    private static final String REPAY_SQL = """
+            UPDATE loans SET amount_paid = amount_paid + ?, outstanding_amount = outstanding_amount - ?
+            WHERE loan_number = ?""";
+
+    @Autowired
+    private ILoanService loanService;
+
+    @Autowired
+    private LoanPortfolio loanPortfolio;
+
+    @Autowired
+    private JdbcLoanPortfolioStore loanPortfolioStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void rebuild() {
+        // other test contexts recreate the loans table in the same in-memory database
+        loanPortfolio.rebuild();
+    }
+
+    @Test
+    void everyWriteMovesTheTotals() {
+        LoanPortfolioDto before = homeLoans();
+
+        LoanDto loan = loanService.createLoanDetails("8200000001");
+        loanService.repayLoan(loan.getLoanNumber(), new RepaymentDto("portfolio-1", AMOUNT));
+        // a replayed reference is not counted twice
+        loanService.repayLoan(loan.getLoanNumber(), new RepaymentDto("portfolio-1", AMOUNT));
+        LoanPortfolioDto repaid = homeLoans();
+
+        loanService.deleteLoanDetails("8200000001");
+        LoanPortfolioDto deleted = homeLoans();
+
+        assertAll(
+                () -> assertEquals(before.getLoanCount() + 1, repaid.getLoanCount()),
+                () -> assertEquals(before.getTotalOutstanding() + LoansConstants.NEW_LOAN_LIMIT - AMOUNT,
+                        repaid.getTotalOutstanding()),
+                () -> assertEquals(before.getTotalPaid() + AMOUNT, repaid.getTotalPaid()),
+                () -> assertEquals(before, deleted));
+    }
+
+    @Test
+    void updateMovesALoanBetweenTypes() {
+        LoanDto loan = loanService.createLoanDetails("8200000002");
+        LoanPortfolioDto before = homeLoans();
+
+        loan.setLoanType("Vehicle Loan");
+        loan.setAmountPaid(AMOUNT);
+        loan.setOutstandingAmount(LoansConstants.NEW_LOAN_LIMIT - AMOUNT);
+        loanService.updateLoanDetails(loan);
+
+        List<LoanPortfolioDto> served = totals();
+        assertAll(
+                () -> assertEquals(before.getLoanCount() - 1, homeLoans().getLoanCount()),
+                () -> assertEquals(before.getTotalOutstanding() - LoansConstants.NEW_LOAN_LIMIT,
+                        homeLoans().getTotalOutstanding()),
+                () -> assertEquals(new LoanPortfolioDto("Vehicle Loan", 1, LoansConstants.NEW_LOAN_LIMIT - AMOUNT,
+                        AMOUNT), totals("Vehicle Loan")),
+                () -> assertEquals(scan(), served));
+        loanService.deleteLoanDetails("8200000002");
+    }
+
+    @Test
+    void instancesAddUpTheirChanges() {
+        LoanDto loan = loanService.createLoanDetails("8200000004");
+        LoanPortfolioDto before = homeLoans();
+
+        // a second instance repays the same loan and flushes on its own
+        LoanPortfolio otherInstance = new LoanPortfolio(loanPortfolioStore);
+        jdbcTemplate.update(REPAY_SQL, AMOUNT, AMOUNT, loan.getLoanNumber());
+        otherInstance.repaid(LoansConstants.HOME_LOAN, AMOUNT);
+        loanService.repayLoan(loan.getLoanNumber(), new RepaymentDto("portfolio-4", AMOUNT));
+        otherInstance.flush();
+
+        List<LoanPortfolioDto> served = totals();
+        assertAll(
+                () -> assertEquals(before.getTotalPaid() + 2 * AMOUNT, homeLoans().getTotalPaid()),
+                () -> assertEquals(scan(), served));
+        loanService.deleteLoanDetails("8200000004");
+    }
+
+    @Test
+    void concurrentWritesAgreeWithAFullScan() throws Exception {
+        Concurrently.run(THREADS, thread -> () -> {
+            for (int i = 0; i < LOANS_PER_THREAD; i++) {
+                String mobileNumber = String.format("83%02d%06d", thread, i);
+                LoanDto loan = loanService.createLoanDetails(mobileNumber);
+                loanService.repayLoan(loan.getLoanNumber(), new RepaymentDto(mobileNumber, AMOUNT));
+                if (i % 2 == 0) {
+                    loanService.deleteLoanDetails(mobileNumber);
+                }
+            }
+            return null;
+        });
+
+        List<LoanPortfolioDto> served = totals();
+        assertEquals(scan(), served);
+    }
+
+    @Test
+    void concurrentUpdatesAndRepaymentsOfOneLoanAgreeWithAFullScan() throws Exception {
+        LoanDto loan = loanService.createLoanDetails("8200000003");
+
+        Concurrently.run(THREADS, thread -> () -> {
+            for (int i = 0; i < LOANS_PER_THREAD; i++) {
+                if (thread % 2 == 0) {
+                    LoanDto update = loanService.getLoanDetails("8200000003");
+                    update.setLoanType(i % 2 == 0 ? "Vehicle Loan" : LoansConstants.HOME_LOAN);
+                    loanService.updateLoanDetails(update);
+                } else {
+                    loanService.repayLoan(loan.getLoanNumber(), new RepaymentDto("update-" + thread + "-" + i, 1));
+                }
+            }
+            return null;
+        });
+
+        List<LoanPortfolioDto> served = totals();
+        assertEquals(scan(), served);
+        loanService.deleteLoanDetails("8200000003");
+    }
+
+    /**
+     * @return the totals the endpoint serves once this instance has flushed
+     */
+    private List<LoanPortfolioDto> totals() {
+        loanPortfolio.flush();
+        return loanService.getLoanPortfolio();
+    }
+
+    private LoanPortfolioDto homeLoans() {
+        return totals(LoansConstants.HOME_LOAN);
+    }
+
+    private LoanPortfolioDto totals(String loanType) {
+        return totals().stream()
+                .filter(loanPortfolioDto -> loanPortfolioDto.getLoanType().equals(loanType))
+                .findFirst()
+                .orElse(new LoanPortfolioDto(loanType, 0, 0, 0));
+    }
+
+    /**
+     * @return the totals of a grouped scan of the loans table
+     */
+    private List<LoanPortfolioDto> scan() {
+        return jdbcTemplate.query(SCAN_SQL, new DataClassRowMapper<>(LoanPortfolioDto.class));
+    }
+}
@@ -0,0 +1,98 @@
+package com.udemy.loans.repayment;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.udemy.common.test.Concurrently;
+import com.udemy.loans.constants.LoansConstants;
+import com.udemy.loans.dto.LoanDto;
+import com.udemy.loans.dto.RepaymentDto;
+import com.udemy.loans.exception.OverpaymentException;
+import com.udemy.loans.exception.PaymentReferenceConflictException;
+import com.udemy.loans.exception.ResourseNotFoundException;
+import com.udemy.loans.service.ILoanService;
+
+/**
+ * Repays a single loan from many threads, like a bulk payroll deduction, and
+ * checks that no repayment is lost, none is applied twice and the loan is
+ * never overpaid.
+ */
+@SpringBootTest
+class LoanRepaymentStressTests {
+
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 250;
+    // THREADS * CALLS_PER_THREAD * AMOUNT is well above the loan
+    private static final int AMOUNT = 40;
+
+    @Autowired
+    private ILoanService loanService;
+
+    @Test
+    void concurrentRepaymentsNeverOverpay() throws Exception {
+        String loanNumber = loanService.createLoanDetails("8100000001").getLoanNumber();
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger declined = new AtomicInteger();
+
+        Concurrently.run(THREADS, thread -> () -> {
+            for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                try {
+                    loanService.repayLoan(loanNumber, new RepaymentDto("payroll-" + thread + "-" + i, AMOUNT));
+                    applied.incrementAndGet();
+                } catch (OverpaymentException ex) {
+                    declined.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        LoanDto loan = loanService.getLoanDetails("8100000001");
+        assertAll(
+                () -> assertEquals(LoansConstants.NEW_LOAN_LIMIT / AMOUNT, applied.get()),
+                () -> assertEquals(THREADS * CALLS_PER_THREAD, applied.get() + declined.get()),
+                () -> assertEquals(LoansConstants.NEW_LOAN_LIMIT, loan.getAmountPaid()),
+                () -> assertEquals(0, loan.getOutstandingAmount()));
+    }
+
+    @Test
+    void repeatedReferencesAreAppliedOnce() throws Exception {
+        String loanNumber = loanService.createLoanDetails("8100000002").getLoanNumber();
+        int references = 100;
+
+        // every thread sends the same references, as retries of one deduction run would
+        Concurrently.run(THREADS, thread -> () -> {
+            for (int i = 0; i < references; i++) {
+                loanService.repayLoan(loanNumber, new RepaymentDto("retry-" + i, AMOUNT));
+            }
+            return null;
+        });
+
+        LoanDto loan = loanService.getLoanDetails("8100000002");
+        assertAll(
+                () -> assertEquals(references * AMOUNT, loan.getAmountPaid()),
+                () -> assertEquals(LoansConstants.NEW_LOAN_LIMIT - references * AMOUNT, loan.getOutstandingAmount()));
+    }
+
+    @Test
+    void rejectedRepaymentsLeaveNothingBehind() {
+        String loanNumber = loanService.createLoanDetails("8100000003").getLoanNumber();
+
+        assertThrows(ResourseNotFoundException.class,
+                () -> loanService.repayLoan("999999999999", new RepaymentDto("unknown-loan", AMOUNT)));
+        assertThrows(OverpaymentException.class, () -> loanService.repayLoan(loanNumber,
+                new RepaymentDto("too-much", LoansConstants.NEW_LOAN_LIMIT + 1)));
+        // a declined reference was not kept and can be used once the amount is right
+        loanService.repayLoan(loanNumber, new RepaymentDto("too-much", AMOUNT));
+        assertThrows(PaymentReferenceConflictException.class,
+                () -> loanService.repayLoan(loanNumber, new RepaymentDto("too-much", AMOUNT + 1)));
+
+        assertEquals(AMOUNT, loanService.getLoanDetails("8100000003").getAmountPaid());
+    }
+}
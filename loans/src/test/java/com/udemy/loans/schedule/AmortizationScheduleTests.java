@@ -0,0 +1,51 @@
+package com.udemy.loans.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AmortizationScheduleTests {
+
+    @Test
+    void thirtyYearScheduleRepaysThePrincipal() {
+        AmortizationSchedule schedule = AmortizationSchedule.compute(10_000_000, 850, 360);
+
+        long principal = 0;
+        long interest = 0;
+        for (int month = 0; month < schedule.tenureMonths(); month++) {
+            principal += schedule.principal(month);
+            interest += schedule.interest(month);
+        }
+        long repaid = principal;
+        long charged = interest;
+        assertAll(
+                // 100,000.00 at 8.5% over 30 years
+                () -> assertEquals(76_892, schedule.installment()),
+                () -> assertEquals(10_000_000, repaid),
+                () -> assertEquals(schedule.totalInterest(), charged),
+                () -> assertEquals(0, schedule.balance(359)),
+                () -> assertTrue(schedule.payment(359) <= schedule.installment()),
+                () -> assertEquals(70_833, schedule.interest(0)),
+                () -> assertEquals(10_000_000 - schedule.principal(0), schedule.balance(0)));
+    }
+
+    @Test
+    void interestFreeScheduleSplitsThePrincipal() {
+        AmortizationSchedule schedule = AmortizationSchedule.compute(1_000, 0, 3);
+
+        assertAll(
+                () -> assertEquals(334, schedule.payment(0)),
+                () -> assertEquals(334, schedule.payment(1)),
+                () -> assertEquals(332, schedule.payment(2)),
+                () -> assertEquals(0, schedule.totalInterest()));
+    }
+
+    @Test
+    void invalidTermsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> AmortizationSchedule.compute(1_000, 850, 0));
+        assertThrows(IllegalArgumentException.class, () -> AmortizationSchedule.compute(-1, 850, 12));
+    }
+}
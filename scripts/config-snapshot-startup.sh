@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Startup time of one service with the config server up and down, with and
+# without a config snapshot.
+#
+# usage: scripts/config-snapshot-startup.sh <accounts|cards|loans> [runs]
+#
+# Needs the service and the config server packaged first (mvn package). The
+# config server is started here, with the native profile, on port 8071, so
+# nothing else may be listening there. Prints the median of "process running
+# for" from the "Started ..." log line over the runs, in seconds.
+set -euo pipefail
+
+service=${1:?usage: $0 <accounts|cards|loans> [runs]}
+runs=${2:-5}
+root=$(cd "$(dirname "$0")/.." && pwd)
+service_jar="$root/$service/target/$service-1.0-exec.jar"
+configserver_jar="$root/configserver/target/configserver-0.0.1-SNAPSHOT.jar"
+work=$(mktemp -d)
+snapshot="$work/config-snapshot.properties"
+configserver_pid=
+
+cleanup() {
+    [[ -n "$configserver_pid" ]] && kill "$configserver_pid" 2>/dev/null || true
+    rm -rf "$work"
+}
+trap cleanup EXIT
+
+start_configserver() {
+    java -jar "$configserver_jar" --spring.profiles.active=native > "$work/configserver.log" 2>&1 &
+    configserver_pid=$!
+    until curl -sf http://localhost:8071/actuator/health > /dev/null; do sleep 0.5; done
+}
+
+stop_configserver() {
+    kill "$configserver_pid"
+    wait "$configserver_pid" 2>/dev/null || true
+    configserver_pid=
+}
+
+# starts the service once and prints its startup time
+startup_seconds() {
+    local log="$work/$service.log"
+    java -jar "$service_jar" --server.port=0 --configsnapshot.enabled=true --configsnapshot.file="$snapshot" \
+        > "$log" 2>&1 &
+    local pid=$!
+    until grep -q "Started .* in " "$log"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$service did not start, see below" >&2
+            cat "$log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+    # give the writer on ApplicationReady time to finish
+    sleep 1
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' "$log"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# runs startup_seconds $runs times, with or without the saved snapshot
+measure() {
+    local with_snapshot=$1
+    for _ in $(seq "$runs"); do
+        if [[ "$with_snapshot" == yes ]]; then cp "$work/saved.properties" "$snapshot"; else rm -f "$snapshot"; fi
+        startup_seconds
+    done | median
+}
+
+start_configserver
+rm -f "$snapshot"
+startup_seconds > /dev/null
+cp "$snapshot" "$work/saved.properties"
+
+printf '%-14s %-9s %s\n' "config server" snapshot "startup (s)"
+printf '%-14s %-9s %s\n' up no "$(measure no)"
+printf '%-14s %-9s %s\n' up yes "$(measure yes)"
+stop_configserver
+printf '%-14s %-9s %s\n' down no "$(measure no)"
+printf '%-14s %-9s %s\n' down yes "$(measure yes)"
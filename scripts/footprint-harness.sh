@@ -0,0 +1,136 @@
+#!/usr/bin/env bash
+# Resident memory and GC pauses of accounts, cards and loans under load, run
+# as the images of the cds Maven profile, with the constrained profile and the
+# JVM options of docker-compose.yml.
+#
+# usage: scripts/footprint-harness.sh [rate] [duration] [max RSS MB]
+#
+# Needs the three services packaged without the Docker training run
+# (mvn -Pcds -Dexec.skip package) and the loadtest module built, and ports
+# 8080, 9000 and 8090 free. Each jar is extracted as Jib lays it out and the
+# training run of its pom is repeated here, since a class data sharing archive
+# only loads in the JVM that wrote it. The services are started from there
+# with the config server and the snapshot turned off, then the load test
+# drives them at the rate, in requests per second, for the duration, in
+# seconds, after its warmup. RSS is sampled every second and GC pauses are
+# taken from each service's GC log from the start of the load. At the end of
+# the load jcmd reads what the JVM options cap: the committed heap and class
+# metadata, the most code cache used, and the number of threads. Everything is
+# kept in loadtest/target/footprint. Exits with 1 when the peak RSS of a
+# service is over the limit, by default the 250 MB of the containers.
+set -euo pipefail
+
+rate=${1:-200}
+duration=${2:-60}
+max_rss_mb=${3:-250}
+root=$(cd "$(dirname "$0")/.." && pwd)
+out="$root/loadtest/target/footprint"
+services=(accounts cards loans)
+declare -A ports=([accounts]=8080 [cards]=9000 [loans]=8090)
+declare -A paths=([accounts]=api/build-info [cards]=cards/build-info [loans]=loans/build-info)
+declare -A pids load_started_at
+sampler_pid=
+
+# the folded x-constrained-java-options block, so the harness runs what the containers run
+read -r -a java_options <<< "$(sed -n '/^x-constrained-java-options:/,/^$/{/^  /p}' "$root/accounts/docker-compose.yml" | tr '\n' ' ')"
+
+cleanup() {
+    [[ -n "$sampler_pid" ]] && kill "$sampler_pid" 2>/dev/null || true
+    for pid in "${pids[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+    wait 2>/dev/null || true
+}
+trap cleanup EXIT
+
+rm -rf "$out"
+mkdir -p "$out"
+
+for service in "${services[@]}"; do
+    java -Djarmode=tools -jar "$root/$service/target/$service-1.0-exec.jar" extract \
+        --destination "$out/$service" > /dev/null
+    # the cds profile's training run, see its pom
+    (cd "$out/$service" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.aot.enabled=true \
+        -Dspring.context.exit=onRefresh -Dspring.profiles.active=constrained -Dspring.cloud.config.enabled=false \
+        -Dconfigsnapshot.enabled=false -jar "$service-1.0-exec.jar" > training.log 2>&1)
+done
+for service in "${services[@]}"; do
+    # from the directory of the training run, the archive only loads for the same class path
+    (cd "$out/$service" && exec java "${java_options[@]}" -XX:SharedArchiveFile=application.jsa \
+        -Dspring.aot.enabled=true -Xlog:gc:file="$out/$service-gc.log" -jar "$service-1.0-exec.jar" \
+        --spring.profiles.active=qa,constrained --spring.cloud.config.enabled=false \
+        --configsnapshot.enabled=false > "$out/$service.log" 2>&1) &
+    pids[$service]=$!
+done
+for service in "${services[@]}"; do
+    until curl -sf "http://localhost:${ports[$service]}/${paths[$service]}" > /dev/null; do
+        if ! kill -0 "${pids[$service]}" 2>/dev/null; then
+            echo "$service did not start, see $out/$service.log" >&2
+            exit 1
+        fi
+        sleep 0.5
+    done
+done
+
+for service in "${services[@]}"; do
+    load_started_at[$service]=$(ps -o etimes= -p "${pids[$service]}" | tr -d ' ')
+done
+echo "seconds,service,rss_kb" > "$out/rss.csv"
+(
+    while true; do
+        for service in "${services[@]}"; do
+            echo "$(date +%s),$service,$(ps -o rss= -p "${pids[$service]}" | tr -d ' ')"
+        done
+        sleep 1
+    done
+) >> "$out/rss.csv" &
+sampler_pid=$!
+
+(cd "$root/loadtest" && mvn -B -q exec:exec -Dloadtest.args="--accounts-url=http://localhost:8080 \
+    --cards-url=http://localhost:9000 --loans-url=http://localhost:8090 --rate=$rate --duration=$duration \
+    --result=$out/loadtest-result.json")
+
+kill "$sampler_pid"
+sampler_pid=
+for service in "${services[@]}"; do
+    { jcmd "${pids[$service]}" GC.heap_info; jcmd "${pids[$service]}" Compiler.codecache
+        grep Threads "/proc/${pids[$service]}/status"; } > "$out/$service-memory.txt"
+done
+
+over=0
+printf '\n%-10s %14s %16s %10s %16s %14s\n' service "peak RSS (MB)" "median RSS (MB)" "GC pauses" "total pause ms" "max pause ms"
+for service in "${services[@]}"; do
+    rss=$(awk -F, -v s="$service" '$2 == s && $3 != "" { print $3 }' "$out/rss.csv" | sort -n \
+        | awk '{ v[NR] = $1 } END { printf "%d %d", v[NR] / 1024, v[int((NR + 1) / 2)] / 1024 }')
+    read -r peak median <<< "$rss"
+    # lines look like [12.345s][info][gc] GC(7) Pause Young (Allocation Failure) 40M->12M(92M) 3.456ms
+    pauses=$(awk -v from="${load_started_at[$service]}" '/Pause/ {
+            uptime = substr($1, 2) + 0
+            if (uptime < from) next
+            ms = $NF; sub(/ms$/, "", ms)
+            n++; total += ms; if (ms + 0 > max) max = ms + 0
+        } END { printf "%d %.1f %.1f", n, total, max }' "$out/$service-gc.log")
+    read -r count total max <<< "$pauses"
+    printf '%-10s %14s %16s %10s %16s %14s\n' "$service" "$peak" "$median" "$count" "$total" "$max"
+    if (( peak > max_rss_mb )); then
+        over=1
+    fi
+done
+
+printf '\n%-10s %14s %16s %14s %10s\n' service "heap (MB)" "metaspace (MB)" "code (MB)" threads
+for service in "${services[@]}"; do
+    # from the serial collector's heap_info, e.g. "tenured generation   total 48920K, used 45854K" and
+    # "Metaspace       used 91061K, committed 91712K", and "CodeCache: size=24576Kb used=12503Kb max_used=12503Kb"
+    memory=$(awk '/generation +total/ { match($0, /total [0-9]+/); heap += substr($0, RSTART + 6, RLENGTH - 6) }
+            /^ *Metaspace/ { metaspace = $5 }
+            /max_used=/ { match($0, /max_used=[0-9]+/); code += substr($0, RSTART + 9, RLENGTH - 9) }
+            /^Threads:/ { threads = $2 }
+            END { printf "%d %d %d %d", heap / 1024, metaspace / 1024, code / 1024, threads }' "$out/$service-memory.txt")
+    read -r heap metaspace code threads <<< "$memory"
+    printf '%-10s %14s %16s %14s %10s\n' "$service" "$heap" "$metaspace" "$code" "$threads"
+done
+
+if (( over )); then
+    echo "Peak RSS over ${max_rss_mb} MB" >&2
+    exit 1
+fi
@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+# Time to first request and resident memory of one service, started like the
+# plain image and like the image of the cds Maven profile.
+#
+# usage: scripts/startup-benchmark.sh <accounts|cards|loans> [runs]
+#
+# Needs the shared idgen, configsnapshot and common modules installed and
+# the service's port free. Runs on this host's JVM, without Docker: both builds
+# are extracted as Jib lays them out in the image, and the training run of the
+# cds profile is repeated here, since a class data sharing archive only loads
+# in the JVM that wrote it. Each run starts the service with the config server
+# turned off and the constrained profile the cds image is built for, and
+# measures from the start of the JVM until the build-info endpoint first
+# answers; the RSS of the JVM is read right after. Prints the
+# median of each over the runs. Everything is kept in
+# target/startup-benchmark/<service> at the root, out of reach of mvn clean.
+set -euo pipefail
+shopt -s inherit_errexit
+
+service=${1:?usage: $0 <accounts|cards|loans> [runs]}
+runs=${2:-5}
+root=$(cd "$(dirname "$0")/.." && pwd)
+work="$root/target/startup-benchmark/$service"
+jar="$service-1.0-exec.jar"
+case "$service" in
+    accounts) port=8080 path=api/build-info ;;
+    cards) port=9000 path=cards/build-info ;;
+    loans) port=8090 path=loans/build-info ;;
+    *) echo "unknown service $service" >&2; exit 1 ;;
+esac
+
+# packages the service, without the Docker training run, and extracts it into $work/<name>
+build() {
+    local name=$1; shift
+    mkdir -p "$work/$name"
+    (cd "$root/$service" && mvn -B -q "$@" -DskipTests -Dexec.skip clean package) > "$work/$name-build.log" 2>&1
+    java -Djarmode=tools -jar "$root/$service/target/$jar" extract --destination "$work/$name" > /dev/null
+}
+
+# starts the service once and prints the milliseconds to the first response and the RSS in MB
+startup() {
+    local name=$1; shift
+    local start pid
+    start=$(date +%s%N)
+    # from the same directory as the training run, the archive only loads for the same class path
+    (cd "$work/$name" && exec java "$@" -jar "$jar" --spring.profiles.active=constrained \
+        --spring.cloud.config.enabled=false > run.log 2>&1) &
+    pid=$!
+    until curl -sf "http://localhost:$port/$path" > /dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$service ($name) did not start, see $work/$name/run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local millis=$(( ($(date +%s%N) - start) / 1000000 ))
+    local rss_kb
+    rss_kb=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$millis $(( rss_kb / 1024 ))"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# runs startup $runs times and prints the median time and RSS
+measure() {
+    local results
+    results=$(for _ in $(seq "$runs"); do startup "$@"; done)
+    echo "$(cut -d' ' -f1 <<< "$results" | median) $(cut -d' ' -f2 <<< "$results" | median)"
+}
+
+rm -rf "$work"
+mkdir -p "$work"
+build baseline
+build cds -Pcds
+# the cds profile's training run, see its pom
+(cd "$work/cds" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh -Dspring.profiles.active=constrained -Dspring.cloud.config.enabled=false \
+    -jar "$jar" > training.log 2>&1)
+
+printf '%-10s %-24s %s\n' build "first request (ms)" "RSS (MB)"
+result=$(measure baseline)
+read -r millis rss <<< "$result"
+printf '%-10s %-24s %s\n' baseline "$millis" "$rss"
+result=$(measure cds -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true)
+read -r millis rss <<< "$result"
+printf '%-10s %-24s %s\n' cds "$millis" "$rss"